@@ -0,0 +1,58 @@
+package com.example.online_car_service_station_backend;
+
+import com.example.online_car_service_station_backend.model.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Justification: Builds detached entity graphs shaped like production data for the JMH benchmarks,
+// so the mapping and serialization benchmarks measure our code rather than database access.
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static CarService carService(long id) {
+        CarService service = new CarService();
+        service.setId(id);
+        service.setName("Service " + id);
+        service.setDescription("Full inspection and servicing package number " + id + ", including fluids and filters.");
+        service.setPrice(new BigDecimal("1499.00").add(BigDecimal.valueOf(id)));
+        service.setImageUrl("https://cdn.example.com/services/" + id + ".jpg");
+        return service;
+    }
+
+    public static Booking booking(long id, int servicesPerBooking) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("customer" + id);
+        user.setEmail("customer" + id + "@example.com");
+
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setFirstName("First" + id);
+        customer.setLastName("Last" + id);
+        customer.setUser(user);
+
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setCustomer(customer);
+        booking.setBookingDateTime(LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(id));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setPaymentStatus(PaymentStatus.PAID);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < servicesPerBooking; i++) {
+            CarService service = carService(i + 1);
+            BookedService line = new BookedService();
+            line.setId(id * 100 + i);
+            line.setBooking(booking);
+            line.setCarService(service);
+            line.setPriceAtBooking(service.getPrice());
+            line.setQuantity(1);
+            booking.getBookingServices().add(line);
+            total = total.add(service.getPrice());
+        }
+        booking.setTotalAmount(total);
+        return booking;
+    }
+}
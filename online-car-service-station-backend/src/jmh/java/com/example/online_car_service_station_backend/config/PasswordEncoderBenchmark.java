@@ -0,0 +1,33 @@
+package com.example.online_car_service_station_backend.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Justification: BCrypt cost paid by every login (matches) and every registration (encode), using the
+// encoder configured in AppConfig. A change of strength shows up here first.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordEncoderBenchmark {
+
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new AppConfig().passwordEncoder();
+        hash = passwordEncoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("correct horse battery staple", hash);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("correct horse battery staple");
+    }
+}
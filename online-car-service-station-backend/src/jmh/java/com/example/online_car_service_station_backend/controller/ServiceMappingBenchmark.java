@@ -0,0 +1,38 @@
+package com.example.online_car_service_station_backend.controller;
+
+import com.example.online_car_service_station_backend.BenchmarkFixtures;
+import com.example.online_car_service_station_backend.dto.ServiceResponse;
+import com.example.online_car_service_station_backend.model.CarService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Justification: ServiceController.mapToResponse over a catalog-sized list of services.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceMappingBenchmark {
+
+    @Param({"200"})
+    public int services;
+
+    private ServiceController controller;
+    private List<CarService> catalog;
+
+    @Setup
+    public void setUp() {
+        controller = new ServiceController();
+        catalog = new ArrayList<>();
+        for (long id = 1; id <= services; id++) {
+            catalog.add(BenchmarkFixtures.carService(id));
+        }
+    }
+
+    @Benchmark
+    public List<ServiceResponse> mapCatalog() {
+        return catalog.stream().map(controller::mapToResponse).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.online_car_service_station_backend.dto;
+
+import com.example.online_car_service_station_backend.BenchmarkFixtures;
+import com.example.online_car_service_station_backend.model.Booking;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Justification: Jackson serialization of a List<BookingResponse>, the body of every booking list endpoint.
+// The ObjectMapper is configured like Spring Boot's default (JavaTimeModule, ISO dates).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingResponseSerializationBenchmark {
+
+    @Param({"20", "500"})
+    public int bookings;
+
+    private ObjectMapper objectMapper;
+    private List<BookingResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        responses = new ArrayList<>();
+        for (long id = 1; id <= bookings; id++) {
+            Booking booking = BenchmarkFixtures.booking(id, 3);
+            List<ServiceResponse> services = booking.getBookingServices().stream()
+                    .map(line -> new ServiceResponse(line.getCarService().getId(), line.getCarService().getName(),
+                            line.getCarService().getDescription(), line.getPriceAtBooking(), line.getCarService().getImageUrl()))
+                    .collect(Collectors.toList());
+            responses.add(new BookingResponse(booking.getId(), booking.getCustomer().getId(),
+                    booking.getCustomer().getUser().getUsername(), "First" + id + " Last" + id,
+                    booking.getBookingDateTime(), booking.getStatus(), booking.getPaymentStatus(),
+                    booking.getTotalAmount(), services, null, null));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.BenchmarkFixtures;
+import com.example.online_car_service_station_backend.dto.BookedServiceSummary;
+import com.example.online_car_service_station_backend.dto.BookingResponse;
+import com.example.online_car_service_station_backend.dto.BookingSummary;
+import com.example.online_car_service_station_backend.dto.ServiceResponse;
+import com.example.online_car_service_station_backend.model.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Justification: BookingService.mapToResponse for both the entity path (single-booking endpoints) and
+// the projection path (list endpoints), over a page of bookings.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingMappingBenchmark {
+
+    @Param({"100"})
+    public int bookings;
+
+    @Param({"3"})
+    public int servicesPerBooking;
+
+    private BookingService bookingService;
+    private List<Booking> entities;
+    private List<BookingSummary> summaries;
+    private List<BookedServiceSummary> lines;
+
+    @Setup
+    public void setUp() {
+        bookingService = new BookingService();
+        entities = new ArrayList<>();
+        summaries = new ArrayList<>();
+        lines = new ArrayList<>();
+        for (long id = 1; id <= bookings; id++) {
+            Booking booking = BenchmarkFixtures.booking(id, servicesPerBooking);
+            entities.add(booking);
+            summaries.add(new BookingSummary(booking.getId(), booking.getCustomer().getId(),
+                    booking.getCustomer().getUser().getUsername(), booking.getCustomer().getFirstName(),
+                    booking.getCustomer().getLastName(), booking.getBookingDateTime(), booking.getStatus(),
+                    booking.getPaymentStatus(), booking.getTotalAmount(), booking.getRating(), booking.getComment()));
+            booking.getBookingServices().forEach(line -> lines.add(new BookedServiceSummary(booking.getId(),
+                    line.getCarService().getId(), line.getCarService().getName(), line.getCarService().getDescription(),
+                    line.getPriceAtBooking(), line.getCarService().getImageUrl())));
+        }
+    }
+
+    @Benchmark
+    public List<BookingResponse> mapEntities() {
+        return entities.stream().map(bookingService::mapToResponse).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BookingResponse> mapProjections() {
+        Map<Long, List<ServiceResponse>> servicesByBooking = bookingService.groupByBooking(lines);
+        return summaries.stream()
+                .map(summary -> bookingService.mapToResponse(summary, servicesByBooking))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.online_car_service_station_backend.loadtest;
+
+import com.example.online_car_service_station_backend.payment.PaymentGateway;
+import com.example.online_car_service_station_backend.payment.PaymentGatewayException;
+import com.razorpay.RazorpayException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Justification: Local stand-in for Razorpay used by the load harness. It returns order ids in the
+// Razorpay format without any network access and can inject latency and failures
+// (loadtest.gateway.latencyMs / loadtest.gateway.errorRate) to mimic a slow or degraded provider.
+// It is registered as the gateway delegate, so it runs behind the same bulkhead and circuit breaker as Razorpay.
+public class FakeRazorpayGateway implements PaymentGateway {
+
+    private final long latencyMillis;
+    private final double errorRate;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public FakeRazorpayGateway(long latencyMillis, double errorRate) {
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public String createOrder(long amountInSmallestUnit, String currency, String receipt) throws RazorpayException {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PaymentGatewayException("Interrupted while waiting for the fake gateway");
+            }
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw new PaymentGatewayException("Injected gateway failure");
+        }
+        return "order_fake" + sequence.incrementAndGet();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.online_car_service_station_backend.loadtest;
+
+import java.util.Arrays;
+
+// Justification: Growable array of latency samples (in microseconds) for one endpoint. Each virtual
+// user owns its own instances, so recording needs no synchronization; they are merged at the end.
+public class LatencySamples {
+
+    private long[] values = new long[1024];
+    private int size;
+    private long errors;
+
+    public void record(long micros, boolean success) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = micros;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public void addAll(LatencySamples other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.values[i], true);
+        }
+        errors += other.errors;
+    }
+
+    public int count() {
+        return size;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    // Justification: Sorts the samples and returns {p50, p99, p999, max} in microseconds.
+    public long[] percentiles() {
+        if (size == 0) {
+            return new long[]{0, 0, 0, 0};
+        }
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        return new long[]{at(sorted, 0.50), at(sorted, 0.99), at(sorted, 0.999), sorted[size - 1]};
+    }
+
+    private static long at(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
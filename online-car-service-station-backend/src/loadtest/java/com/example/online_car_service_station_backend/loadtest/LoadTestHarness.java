@@ -0,0 +1,178 @@
+package com.example.online_car_service_station_backend.loadtest;
+
+import com.example.online_car_service_station_backend.OnlineCarServiceStationBackendApplication;
+import com.example.online_car_service_station_backend.dto.RegisterRequest;
+import com.example.online_car_service_station_backend.dto.ServiceRequest;
+import com.example.online_car_service_station_backend.model.ERole;
+import com.example.online_car_service_station_backend.model.Role;
+import com.example.online_car_service_station_backend.payment.PaymentGateway;
+import com.example.online_car_service_station_backend.payment.PaymentGatewayConfig;
+import com.example.online_car_service_station_backend.payment.ResilientPaymentGateway;
+import com.example.online_car_service_station_backend.repository.RoleRepository;
+import com.example.online_car_service_station_backend.service.AuthService;
+import com.example.online_car_service_station_backend.service.ServiceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Justification: Self-contained load test. It boots the real application on a random port against an
+// in-memory H2 database (MySQL mode), swaps Razorpay for FakeRazorpayGateway, seeds roles, an admin
+// and a catalog, then drives virtual users over HTTP and prints throughput and p50/p99/p999 latency
+// per endpoint.
+//
+// Run with:  ./mvnw -P loadtest test-compile exec:java
+// Tuning (system properties): loadtest.users (16), loadtest.durationSeconds (30),
+// loadtest.warmupSeconds (5), loadtest.services (12), loadtest.gateway.latencyMs (0),
+// loadtest.gateway.errorRate (0.0). Any other Spring property can be passed with -D as usual, e.g.
+// -Dapp.threads.virtual.enabled=true to compare virtual-thread mode against the Tomcat pool.
+public class LoadTestHarness {
+
+    private static final String RAZORPAY_SECRET = "loadtest-razorpay-secret";
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 16);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 5);
+        int serviceCount = Integer.getInteger("loadtest.services", 12);
+        long gatewayLatency = Long.getLong("loadtest.gateway.latencyMs", 0L);
+        double gatewayErrorRate = Double.parseDouble(System.getProperty("loadtest.gateway.errorRate", "0.0"));
+
+        // Justification: Set as system properties so they win over application.properties (properties() would
+        // only register them as defaults) and are in place before logging is initialised. Values given
+        // with -D on the command line are kept.
+        harnessProperties().forEach((key, value) -> System.getProperties().putIfAbsent(key, String.valueOf(value)));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(OnlineCarServiceStationBackendApplication.class)
+                .initializers(ctx -> ((GenericApplicationContext) ctx).registerBean(PaymentGatewayConfig.DELEGATE_BEAN,
+                        PaymentGateway.class, () -> new FakeRazorpayGateway(gatewayLatency, gatewayErrorRate)))
+                .run(args);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<Long> serviceIds = seed(context, serviceCount);
+            Map<String, LatencySamples> results = drive("http://localhost:" + port, users, serviceIds,
+                    warmupSeconds, durationSeconds);
+            printReport(results, users, durationSeconds);
+            System.out.println("Payment gateway: " + context.getBean(ResilientPaymentGateway.class).getMetrics());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Map<String, Object> harnessProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("app.jwtSecret", Base64.getEncoder().encodeToString(
+                "loadtest-jwt-secret-loadtest-jwt-secret-loadtest".getBytes(StandardCharsets.UTF_8)));
+        properties.put("razorpay.key.id", "rzp_test_loadtest");
+        properties.put("razorpay.key.secret", RAZORPAY_SECRET);
+        // Payments are confirmed through /verify-payment here; no webhooks are sent, so no queue workers.
+        properties.put("payment.webhook.workers", 0);
+        // Seeded bookings are all recent; keep the nightly archival job out of the measurement.
+        properties.put("app.archive.enabled", false);
+        properties.put("logging.level.root", "WARN");
+        return properties;
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext context, int serviceCount) {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        for (ERole name : ERole.values()) {
+            if (roleRepository.findByName(name).isEmpty()) {
+                roleRepository.save(new Role(null, name));
+            }
+        }
+
+        RegisterRequest admin = new RegisterRequest();
+        admin.setUsername("loadadmin");
+        admin.setEmail("loadadmin@loadtest.local");
+        admin.setPassword("loadadmin-password");
+        admin.setFirstName("Load");
+        admin.setLastName("Admin");
+        context.getBean(AuthService.class).registerAdmin(admin);
+
+        ServiceService serviceService = context.getBean(ServiceService.class);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= serviceCount; i++) {
+            ServiceRequest request = new ServiceRequest();
+            request.setName("Load Service " + i);
+            request.setDescription("Synthetic catalog entry " + i + " for load testing.");
+            request.setPrice(new BigDecimal(499 + i * 100));
+            request.setImageUrl("https://cdn.example.com/services/" + i + ".jpg");
+            ids.add(serviceService.createService(request).getId());
+        }
+        return ids;
+    }
+
+    private static Map<String, LatencySamples> drive(String baseUrl, int users, List<Long> serviceIds,
+                                                     int warmupSeconds, int durationSeconds) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        long start = System.nanoTime();
+        long recordFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long stopAt = recordFrom + Duration.ofSeconds(durationSeconds).toNanos();
+
+        List<VirtualUser> virtualUsers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            boolean admin = i == 0;
+            VirtualUser user = admin
+                    ? new VirtualUser(httpClient, objectMapper, baseUrl, "loadadmin", "loadadmin-password", true,
+                    serviceIds, RAZORPAY_SECRET, recordFrom, stopAt)
+                    : new VirtualUser(httpClient, objectMapper, baseUrl, "loaduser" + i, "loaduser-password", false,
+                    serviceIds, RAZORPAY_SECRET, recordFrom, stopAt);
+            virtualUsers.add(user);
+            Thread thread = new Thread(user, "virtual-user-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<String, LatencySamples> merged = new TreeMap<>();
+        for (VirtualUser user : virtualUsers) {
+            user.getSamples().forEach((endpoint, samples) ->
+                    merged.computeIfAbsent(endpoint, key -> new LatencySamples()).addAll(samples));
+        }
+        return merged;
+    }
+
+    private static void printReport(Map<String, LatencySamples> results, int users, int durationSeconds) {
+        System.out.println();
+        System.out.printf("Load test: %d virtual users, %d s measured%n", users, durationSeconds);
+        System.out.printf("%-36s %9s %9s %7s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, LatencySamples> entry : results.entrySet()) {
+            LatencySamples samples = entry.getValue();
+            long[] p = samples.percentiles();
+            total += samples.count();
+            System.out.printf("%-36s %9d %9.1f %7d %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey(), samples.count(), samples.count() / (double) durationSeconds, samples.errors(),
+                    p[0] / 1000.0, p[1] / 1000.0, p[2] / 1000.0, p[3] / 1000.0);
+        }
+        System.out.printf("%-36s %9d %9.1f%n", "TOTAL", total, total / (double) durationSeconds);
+        System.out.printf("Server threads: %s, JVM max heap %d MB, peak live JVM threads %d (including %d client threads)%n",
+                Boolean.getBoolean("app.threads.virtual.enabled") ? "virtual" : "platform (Tomcat pool)",
+                Runtime.getRuntime().maxMemory() / (1024 * 1024),
+                ManagementFactory.getThreadMXBean().getPeakThreadCount(), users);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.online_car_service_station_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Justification: One simulated client. Customers register and log in once, then loop over a weighted
+// mix of catalog browsing, booking and payment calls; the admin user polls stats and the paginated
+// bookings list. Every call is timed and recorded per endpoint after the warm-up period.
+public class VirtualUser implements Runnable {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final boolean admin;
+    private final List<Long> serviceIds;
+    private final String razorpaySecret;
+    private final long recordFromNanos;
+    private final long stopAtNanos;
+
+    private final Map<String, LatencySamples> samples = new HashMap<>();
+    private String token;
+    private Long lastBookingId;
+    private String lastBookingAmount;
+
+    public VirtualUser(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, String username, String password,
+                       boolean admin, List<Long> serviceIds, String razorpaySecret, long recordFromNanos, long stopAtNanos) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.admin = admin;
+        this.serviceIds = serviceIds;
+        this.razorpaySecret = razorpaySecret;
+        this.recordFromNanos = recordFromNanos;
+        this.stopAtNanos = stopAtNanos;
+    }
+
+    public Map<String, LatencySamples> getSamples() {
+        return samples;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!admin) {
+                register();
+            }
+            login();
+            while (System.nanoTime() < stopAtNanos) {
+                if (admin) {
+                    adminIteration();
+                } else {
+                    customerIteration();
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Virtual user " + username + " stopped: " + e);
+        }
+    }
+
+    private void customerIteration() throws Exception {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < 45) {
+            call("GET /api/services", get("/api/services"));
+        } else if (roll < 55) {
+            long id = serviceIds.get(ThreadLocalRandom.current().nextInt(serviceIds.size()));
+            call("GET /api/services/{id}", get("/api/services/" + id));
+        } else if (roll < 70) {
+            call("GET /api/bookings/my-bookings", get("/api/bookings/my-bookings"));
+        } else if (roll < 85) {
+            createBooking();
+        } else if (roll < 97) {
+            pay();
+        } else {
+            login();
+        }
+    }
+
+    private void adminIteration() throws Exception {
+        call("GET /api/bookings/stats", get("/api/bookings/stats"));
+        call("GET /api/bookings/page", get("/api/bookings/page?size=20"));
+    }
+
+    private void register() throws Exception {
+        Map<String, Object> body = Map.of(
+                "username", username,
+                "email", username + "@loadtest.local",
+                "password", password,
+                "firstName", "Load",
+                "lastName", "Tester",
+                "phone", "9876543210");
+        call("POST /api/auth/register/customer", post("/api/auth/register/customer", body));
+    }
+
+    private void login() throws Exception {
+        HttpResponse<String> response = call("POST /api/auth/login",
+                post("/api/auth/login", Map.of("username", username, "password", password)));
+        if (response.statusCode() == 200) {
+            token = objectMapper.readTree(response.body()).get("token").asText();
+        }
+    }
+
+    private void createBooking() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int count = 1 + random.nextInt(Math.min(3, serviceIds.size()));
+        List<Long> chosen = serviceIds.subList(0, count);
+        Map<String, Object> body = Map.of(
+                "carServiceIds", chosen,
+                "bookingDateTime", randomSlot(random).toString());
+        HttpResponse<String> response = call("POST /api/bookings", post("/api/bookings", body));
+        if (response.statusCode() == 201) {
+            JsonNode booking = objectMapper.readTree(response.body());
+            lastBookingId = booking.get("bookingId").asLong();
+            lastBookingAmount = booking.get("totalAmount").asText();
+        }
+    }
+
+    // Justification: A slot-aligned start between 09:00 and 15:00 over the next 30 days, so even the longest
+    // mix of services fits within the default opening hours.
+    private LocalDateTime randomSlot(ThreadLocalRandom random) {
+        return LocalDate.now().plusDays(1 + random.nextInt(30)).atTime(9, 0).plusMinutes(30L * random.nextInt(13));
+    }
+
+    private void pay() throws Exception {
+        if (lastBookingId == null) {
+            createBooking();
+            return;
+        }
+        HttpResponse<String> order = call("POST /api/payments/create-order", post("/api/payments/create-order",
+                Map.of("bookingId", lastBookingId, "amount", lastBookingAmount)));
+        if (order.statusCode() == 200) {
+            String orderId = objectMapper.readTree(order.body()).get("orderId").asText();
+            String paymentId = "pay_fake" + ThreadLocalRandom.current().nextLong(1_000_000_000L);
+            Map<String, Object> confirmation = Map.of(
+                    "razorpayOrderId", orderId,
+                    "razorpayPaymentId", paymentId,
+                    "razorpaySignature", sign(orderId + "|" + paymentId),
+                    "bookingId", lastBookingId);
+            call("POST /api/payments/verify-payment", post("/api/payments/verify-payment", confirmation));
+        }
+        lastBookingId = null;
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path))).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) throws Exception {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private HttpResponse<String> call(String endpoint, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        long end = System.nanoTime();
+        if (start >= recordFromNanos && end <= stopAtNanos) {
+            int status = response.statusCode();
+            boolean success = (status >= 200 && status < 300) || status == 304;
+            samples.computeIfAbsent(endpoint, key -> new LatencySamples()).record((end - start) / 1000, success);
+        }
+        return response;
+    }
+
+    // Justification: Same HMAC-SHA256 signature Razorpay puts on a real checkout, so the harness exercises
+    // the genuine verification path in PaymentService.
+    private String sign(String data) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(razorpaySecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] digest = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
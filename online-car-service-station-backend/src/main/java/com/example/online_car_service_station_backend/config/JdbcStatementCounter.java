@@ -0,0 +1,32 @@
+package com.example.online_car_service_station_backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Justification: Counts the SQL statements Hibernate prepares on the current thread while a request is being
+// measured by RequestMetricsFilter. Registered as Hibernate's statement inspector in MetricsConfig; it returns
+// every statement unchanged. Statements sent through JdbcTemplate directly (the booked-service batch insert)
+// bypass Hibernate and are not counted.
+public class JdbcStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = current.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void begin() {
+        current.set(new int[1]);
+    }
+
+    // Justification: Stops counting for this thread and returns the statements seen since begin().
+    public int end() {
+        int[] count = current.get();
+        current.remove();
+        return count != null ? count[0] : 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.online_car_service_station_backend.config;
+
+import com.example.online_car_service_station_backend.payment.CircuitBreaker;
+import com.example.online_car_service_station_backend.payment.ResilientPaymentGateway;
+import com.example.online_car_service_station_backend.service.ServiceCatalogCache;
+import com.example.online_car_service_station_backend.service.ServiceSearchIndex;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+// Justification: Application metrics on top of what Actuator already records. Actuator provides the
+// http.server.requests timers, JVM memory/GC/thread, process, Tomcat and HikariCP meters out of the box; this
+// class adds:
+// - the aspect behind @Timed, used on the hot service methods (app.service.method, tagged class/method);
+// - the Hibernate statement inspector that RequestMetricsFilter uses to count SQL statements per request;
+// - gauges and counters exported from the hand-rolled caches and the payment gateway's resilience layer,
+//   which so far were only visible through their getMetrics() maps.
+// Everything is scraped from /actuator/prometheus.
+@Configuration
+public class MetricsConfig {
+
+    // Justification: Shared name of the @Timed service-method timers; TimedAspect adds class and method tags.
+    public static final String SERVICE_METHOD_TIMER = "app.service.method";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public JdbcStatementCounter jdbcStatementCounter() {
+        return new JdbcStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer(JdbcStatementCounter jdbcStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, jdbcStatementCounter);
+    }
+
+    @Bean
+    public MeterBinder catalogMetrics(ServiceCatalogCache catalogCache, ServiceSearchIndex searchIndex) {
+        return registry -> {
+            FunctionCounter.builder("app.catalog.cache.requests", catalogCache, cache -> metric(cache.getMetrics(), "hits"))
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("app.catalog.cache.requests", catalogCache, cache -> metric(cache.getMetrics(), "misses"))
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("app.catalog.cache.invalidations", catalogCache, cache -> metric(cache.getMetrics(), "invalidations"))
+                    .register(registry);
+            Gauge.builder("app.catalog.search.documents", searchIndex, index -> metric(index.getMetrics(), "documents"))
+                    .register(registry);
+            Gauge.builder("app.catalog.search.terms", searchIndex, index -> metric(index.getMetrics(), "terms"))
+                    .register(registry);
+            FunctionCounter.builder("app.catalog.search.requests", searchIndex, index -> metric(index.getMetrics(), "searches"))
+                    .register(registry);
+        };
+    }
+
+    // Justification: One counter per outcome of a gateway call, the free bulkhead permits, and the breaker state as
+    // one 0/1 gauge per state, so dashboards can alert on state="OPEN".
+    @Bean
+    public MeterBinder paymentGatewayMetrics(ResilientPaymentGateway paymentGateway) {
+        return registry -> {
+            for (String outcome : new String[] {"calls", "failures", "slowCalls", "rejectedByBreaker", "rejectedByBulkhead"}) {
+                FunctionCounter.builder("app.payment.gateway.events", paymentGateway, gateway -> metric(gateway.getMetrics(), outcome))
+                        .tag("event", outcome)
+                        .register(registry);
+            }
+            Gauge.builder("app.payment.gateway.bulkhead.available", paymentGateway,
+                            gateway -> metric(gateway.getMetrics(), "availableConcurrentCalls"))
+                    .register(registry);
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder("app.payment.gateway.circuit.state", paymentGateway,
+                                gateway -> state.name().equals(gateway.getMetrics().get("state")) ? 1 : 0)
+                        .tag("state", state.name())
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double metric(Map<String, ?> metrics, String name) {
+        Object value = metrics.get(name);
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+}
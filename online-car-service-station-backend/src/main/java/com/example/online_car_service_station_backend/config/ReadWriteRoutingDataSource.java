@@ -0,0 +1,41 @@
+package com.example.online_car_service_station_backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Justification: Picks the physical datasource for each new connection. Read-only transactions go to the
+// replica unless the current user has written recently; everything else (read-write transactions, schema
+// updates, statements outside a transaction) goes to the primary. It must sit behind a
+// LazyConnectionDataSourceProxy, because the transaction's read-only flag is only published after the
+// transaction manager asks for a connection.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadWriteRoutingDataSource(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        if (inTransaction && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return tracker.mustReadFromPrimary() ? Route.PRIMARY : Route.REPLICA;
+        }
+        if (inTransaction && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tracker.recordWrite();
+                }
+            });
+        }
+        return Route.PRIMARY;
+    }
+}
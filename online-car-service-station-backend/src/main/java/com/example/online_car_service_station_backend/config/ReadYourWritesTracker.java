@@ -0,0 +1,69 @@
+package com.example.online_car_service_station_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Justification: Read-your-writes for replica routing. When a user's read-write transaction commits, the user
+// is pinned to the primary for 'windowMillis' (longer than the expected replica lag), so a customer who
+// has just created a booking sees it in /my-bookings straight away. Code that must never see stale data,
+// such as cache loaders, can also force the primary explicitly with onPrimary(). Without a replica
+// (ReplicaRoutingConfig inactive) nothing consults it and onPrimary() is a plain call.
+@Component
+public class ReadYourWritesTracker {
+
+    private final long windowMillis;
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> forcePrimary = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    public ReadYourWritesTracker(@Value("${app.datasource.replica.read-your-writes-ms:5000}") long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void recordWrite() {
+        String username = currentUsername();
+        if (username != null) {
+            long now = System.currentTimeMillis();
+            primaryUntil.put(username, now + windowMillis);
+            if (primaryUntil.size() > 10_000) {
+                primaryUntil.values().removeIf(until -> until <= now);
+            }
+        }
+    }
+
+    public boolean mustReadFromPrimary() {
+        if (forcePrimary.get()) {
+            return true;
+        }
+        String username = currentUsername();
+        if (username == null) {
+            return false;
+        }
+        Long until = primaryUntil.get(username);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    public <T> T onPrimary(Supplier<T> work) {
+        boolean previous = forcePrimary.get();
+        forcePrimary.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            forcePrimary.set(previous);
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
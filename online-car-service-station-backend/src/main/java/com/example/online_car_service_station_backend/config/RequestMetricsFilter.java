@@ -0,0 +1,62 @@
+package com.example.online_car_service_station_backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Justification: Records how many SQL statements each request issued, as the app.http.jdbc.statements
+// histogram tagged like http.server.requests (method, uri template, status). A uri whose count grows with the
+// data is an N+1 regression. It runs before the security filters so principal lookups are included.
+// Only the request thread is measured; the body of a streamed export runs on an async thread.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final JdbcStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsFilter(JdbcStatementCounter statementCounter, MeterRegistry meterRegistry) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = statementCounter.end();
+            // Justification: The uri template, never the raw path, keeps the number of series bounded.
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("app.http.jdbc.statements")
+                    .description("SQL statements issued per HTTP request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .tag("status", String.valueOf(response.getStatus()))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(500.0)
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+
+    // Justification: Actuator scrapes would otherwise dominate the histogram.
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.online_car_service_station_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Justification: Enables @Scheduled methods, used for periodic housekeeping such as purging expired
+// idempotency keys.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
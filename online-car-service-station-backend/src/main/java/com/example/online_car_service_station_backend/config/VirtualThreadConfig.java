@@ -0,0 +1,56 @@
+package com.example.online_car_service_station_backend.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Justification: Opt-in virtual-thread mode (app.threads.virtual.enabled=true, requires JDK 21). Tomcat
+// then serves every request on its own virtual thread instead of the fixed pool of 200 platform threads,
+// so requests that wait on Razorpay or MySQL no longer use up the pool. The application task executor
+// (used for @Async and Spring MVC async requests) runs on virtual threads as well.
+//
+// The project still compiles for Java 17, so the JDK 21 factory is looked up reflectively, and startup
+// fails with a clear message on an older runtime. Build with the 'virtual-threads' Maven profile to
+// target 21 and pick up driver/pool versions that do not pin carrier threads.
+//
+// Pinning audit (JDK 21 pins the carrier thread while a virtual thread blocks inside 'synchronized'):
+// - MySQL Connector/J 8.0.x guards socket I/O with synchronized; 9.x uses ReentrantLock instead. The
+//   'virtual-threads' profile upgrades the driver.
+// - HikariCP before 5.1.0 waits for a connection inside synchronized code paths; the profile upgrades it.
+// - Hibernate only synchronizes around in-memory metadata caches, not JDBC calls.
+// - In this codebase, CircuitBreaker's synchronized methods never block and the remote call runs
+//   outside them. The caches (TokenVersionCache, ServiceCatalogCache, IdempotencyService) use
+//   ConcurrentHashMap and atomics. RazorpayPaymentGateway uses java.net.http, which is virtual-thread aware.
+// Run with -Djdk.tracePinnedThreads=short to report any pinning that remains.
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+    }
+
+    // Justification: Replaces Boot's pooled applicationTaskExecutor under the same bean name.
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("app.threads.virtual.enabled=true requires Java 21 or newer (running "
+                    + System.getProperty("java.version") + ")", e);
+        }
+    }
+}
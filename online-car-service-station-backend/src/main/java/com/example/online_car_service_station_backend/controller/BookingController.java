@@ -1,16 +1,29 @@
 package com.example.online_car_service_station_backend.controller;
 
 import com.example.online_car_service_station_backend.dto.*;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import com.example.online_car_service_station_backend.service.BookingArchiveService;
+import com.example.online_car_service_station_backend.service.BookingExportService;
 import com.example.online_car_service_station_backend.service.BookingService;
+import com.example.online_car_service_station_backend.service.IdempotencyService;
+import com.example.online_car_service_station_backend.service.RevenueRollupService;
+import com.example.online_car_service_station_backend.service.ServiceCatalogCache;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,12 +35,31 @@ public class BookingController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ServiceCatalogCache catalogCache;
+
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<BookingResponse> createBooking(
             @Valid @RequestBody BookingRequest bookingRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        BookingResponse response = bookingService.createBooking(bookingRequest, userDetails);
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        // Justification: The key is claimed and any earlier result looked up here, outside the booking transaction,
+        // so a request never holds the claim's connection and the booking's connection at the same time.
+        BookingResponse response = idempotencyService.execute("create-booking", userDetails.getUsername(), idempotencyKey,
+                bookingRequest, BookingResponse.class, () -> bookingService.createBooking(bookingRequest, userDetails));
         // Justification: This returns a single DTO object, not a List or an Entity.
         // It's the correct way to return a successful creation response.
         return new ResponseEntity<>(response, HttpStatus.CREATED);
@@ -42,20 +74,92 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    // Justification: Keyset-paginated and filterable version of the admin listing. The client passes the
+    // nextCursor from the previous response to fetch the following page. 'from' is inclusive, 'to' exclusive.
+    // Archived bookings are only included with includeArchived=true.
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingPageResponse> getBookingsPage(
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) PaymentStatus paymentStatus,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingsPage(status, paymentStatus, customerId, from, to, cursor, size, includeArchived));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Justification: Streaming export for finance, as CSV (default) or NDJSON (format=ndjson). The body is
+    // written from a database cursor on an async thread, so large date ranges no longer build the whole list in
+    // memory. Filters match /page: 'from' is inclusive, 'to' exclusive.
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) PaymentStatus paymentStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        BookingExportService.Format exportFormat;
+        try {
+            exportFormat = BookingExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> bookingExportService.export(exportFormat, status, paymentStatus, from, to, includeArchived, out);
+        boolean csv = exportFormat == BookingExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv;charset=UTF-8") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
     @GetMapping("/my-bookings")
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<List<BookingResponse>> getCustomerBookings(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest) {
+        // Justification: Polling clients send back the ETag; if nothing changed we answer 304
+        // without loading or serializing the bookings. The catalog version is folded in because
+        // booking responses embed service names and images.
+        String eTag = bookingService.getCustomerBookingsVersion(userDetails)
+                .toETag("bookings-" + catalogCache.getCatalogVersionTag());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         List<BookingResponse> bookings = bookingService.getCustomerBookings(userDetails);
-        return ResponseEntity.ok(bookings);
+        return ResponseEntity.ok().eTag(eTag).body(bookings);
+    }
+
+    // Justification: Next start times at which the given services fit, served from the in-memory
+    // availability index. 'from' defaults to now; at most 50 slots are returned.
+    @GetMapping("/availability")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CUSTOMER')")
+    public ResponseEntity<List<AvailableSlot>> getAvailableSlots(
+            @RequestParam List<Long> serviceIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(bookingService.getAvailableSlots(serviceIds, from, limit));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'CUSTOMER')")
     public ResponseEntity<BookingResponse> getBookingById(
             @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             @AuthenticationPrincipal UserDetails userDetails) {
-        Optional<BookingResponse> bookingResponse = bookingService.getBookingById(id, userDetails);
+        Optional<BookingResponse> bookingResponse = bookingService.getBookingById(id, userDetails, includeArchived);
         return bookingResponse
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -72,6 +176,19 @@ public class BookingController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Justification: Applies one status and/or payment status to many bookings in a single transaction and
+    // reports an outcome per id (UPDATED, UNCHANGED, NOT_FOUND, INVALID_TRANSITION). Only forward moves
+    // and cancellation are accepted; see BookingStatus.canTransitionTo.
+    @PutMapping("/bulk-status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkStatusUpdateResponse> bulkUpdateStatus(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        try {
+            return ResponseEntity.ok(bookingService.bulkUpdateStatus(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Justification: This new endpoint allows an admin to delete a booking.
     // It is secured with @PreAuthorize to ensure only an admin can perform this action.
     @DeleteMapping("/{id}")
@@ -88,12 +205,37 @@ public class BookingController {
 
     // Justification: This new endpoint is for the admin's stats page. It is secured with
     // @PreAuthorize to ensure only an admin can view this data.
+    // The optional from/to parameters bound the day/week/month/service/status breakdowns.
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<StatsResponse> getRevenueAndStats() {
-        StatsResponse stats = bookingService.getRevenueAndStats();
+    public ResponseEntity<StatsResponse> getRevenueAndStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        StatsResponse stats = bookingService.getRevenueAndStats(from, to);
         return ResponseEntity.ok(stats);
     }
+
+    // Justification: Backfill command for the daily revenue rollups behind /stats. Rebuilds every rollup
+    // row from the bookings table; needed once after deployment and whenever the rollups must be repaired.
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> rebuildStats() {
+        int rows = revenueRollupService.rebuild();
+        return ResponseEntity.ok("Rebuilt " + rows + " rollup rows.");
+    }
+
+    // Justification: Runs the booking archival job now instead of waiting for the nightly schedule.
+    @PostMapping("/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> archiveBookings() {
+        try {
+            int archived = bookingArchiveService.archiveOldBookings();
+            return ResponseEntity.ok("Archived " + archived + " bookings.");
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
     // Justification: CRITICAL FIX. This new endpoint allows a customer to submit feedback.
     // It is secured with @PreAuthorize to ensure only a customer can perform this action.
     @PostMapping("/feedback")
@@ -4,12 +4,19 @@ import com.example.online_car_service_station_backend.dto.PaymentConfirmationReq
 import com.example.online_car_service_station_backend.dto.PaymentRequest;
 import com.example.online_car_service_station_backend.dto.PaymentResponse;
 import com.example.online_car_service_station_backend.model.PaymentStatus;
+import com.example.online_car_service_station_backend.payment.PaymentGatewayException;
+import com.example.online_car_service_station_backend.payment.PaymentGatewayUnavailableException;
+import com.example.online_car_service_station_backend.service.IdempotencyService;
 import com.example.online_car_service_station_backend.service.PaymentService;
+import com.example.online_car_service_station_backend.service.PaymentWebhookService;
 import com.razorpay.RazorpayException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -20,15 +27,26 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private PaymentWebhookService paymentWebhookService;
+
     // Justification: This endpoint is called by the frontend to create a Razorpay order.
     // It's secured for customers. It returns the Order ID and other details needed by the frontend
     // to open the Razorpay payment form.
     @PostMapping("/create-order")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> createRazorpayOrder(@Valid @RequestBody PaymentRequest paymentRequest) {
+    public ResponseEntity<?> createRazorpayOrder(
+            @Valid @RequestBody PaymentRequest paymentRequest,
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         try {
-            PaymentResponse response = paymentService.createOrder(paymentRequest);
+            PaymentResponse response = paymentService.createOrder(paymentRequest, userDetails.getUsername(), idempotencyKey);
             return ResponseEntity.ok(response);
+        } catch (PaymentGatewayUnavailableException e) {
+            // Justification: The gateway is shedding load or its circuit breaker is open; the client may retry later.
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        } catch (PaymentGatewayException e) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(e.getMessage());
         } catch (RazorpayException | RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -53,4 +71,21 @@ public class PaymentController {
             return ResponseEntity.badRequest().body("Razorpay error: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // Justification: Razorpay calls this endpoint directly (no JWT), so authenticity comes from the
+    // X-Razorpay-Signature header. The event is only queued here; PaymentWebhookService applies it in the
+    // background, so Razorpay gets a fast 200 and redeliveries are harmless.
+    @PostMapping("/webhook")
+    public ResponseEntity<?> receiveWebhook(
+            @RequestBody String payload,
+            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature) {
+        try {
+            if (!paymentWebhookService.receive(payload, signature)) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid webhook signature.");
+            }
+            return ResponseEntity.ok().build();
+        } catch (RazorpayException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
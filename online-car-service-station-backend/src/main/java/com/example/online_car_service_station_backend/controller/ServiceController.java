@@ -2,18 +2,23 @@ package com.example.online_car_service_station_backend.controller;
 
 import com.example.online_car_service_station_backend.dto.ServiceRequest;
 import com.example.online_car_service_station_backend.dto.ServiceResponse;
+import com.example.online_car_service_station_backend.dto.ServiceSearchResponse;
 import com.example.online_car_service_station_backend.model.CarService;
+import com.example.online_car_service_station_backend.service.ServiceCatalogCache;
+import com.example.online_car_service_station_backend.service.ServiceSearchIndex;
 import com.example.online_car_service_station_backend.service.ServiceService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.math.BigDecimal;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 // Justification: This controller handles all HTTP requests related to service management.
 // It uses @RestController and @RequestMapping for RESTful API design.
@@ -26,6 +31,12 @@ public class ServiceController {
     @Autowired
     private ServiceService serviceService;
 
+    @Autowired
+    private ServiceCatalogCache catalogCache;
+
+    @Autowired
+    private ServiceSearchIndex searchIndex;
+
     // Justification: Allows an ADMIN to add a new service.
     // @PreAuthorize("hasRole('ADMIN')") ensures this endpoint can only be accessed by an authenticated user with ROLE_ADMIN.
     // The @Valid annotation triggers DTO validation for the incoming ServiceRequest.
@@ -40,13 +51,48 @@ public class ServiceController {
 
     // Justification: Allows both ADMIN and CUSTOMER to view all available services.
     // @PreAuthorize("hasAnyRole('ADMIN', 'CUSTOMER')") enforces this role-based access.
+    // The body is the catalog cache's pre-serialized JSON, so steady-state reads touch neither MySQL nor Jackson.
     @GetMapping
   //  @PreAuthorize("hasAnyRole('ADMIN', 'CUSTOMER')")
-    public ResponseEntity<List<ServiceResponse>> getAllServices() {
-        List<ServiceResponse> services = serviceService.getAllServices().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(services);
+    // Conditional requests (If-None-Match / If-Modified-Since) are answered with 304 and no body.
+    public ResponseEntity<byte[]> getAllServices(WebRequest webRequest) {
+        ServiceCatalogCache.CatalogSnapshot catalog = catalogCache.getCatalogSnapshot();
+        String eTag = catalog.getETag();
+        if (webRequest.checkNotModified(eTag, catalog.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .body(catalog.getJson());
+    }
+
+    // Justification: Hit/miss counters of the catalog cache, for admins checking its effectiveness.
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Long>> getCacheStats() {
+        return ResponseEntity.ok(catalogCache.getMetrics());
+    }
+
+    // Justification: Public, ranked catalog search served from the in-memory index, with optional price range
+    // and price-range facets. Like the catalog listing it is readable without logging in.
+    @GetMapping("/search")
+    public ResponseEntity<ServiceSearchResponse> searchServices(@RequestParam(name = "q", required = false) String query,
+                                                                @RequestParam(required = false) BigDecimal minPrice,
+                                                                @RequestParam(required = false) BigDecimal maxPrice,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "20") int size) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(searchIndex.search(query, minPrice, maxPrice, page, size));
+    }
+
+    // Justification: Size and latency counters of the search index.
+    @GetMapping("/search-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Long>> getSearchStats() {
+        return ResponseEntity.ok(searchIndex.getMetrics());
     }
 
     // Justification: Allows both ADMIN and CUSTOMER to view a single service by ID.
@@ -54,8 +100,7 @@ public class ServiceController {
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'CUSTOMER')")
     public ResponseEntity<ServiceResponse> getServiceById(@PathVariable Long id) {
-        Optional<ServiceResponse> serviceResponse = serviceService.getServiceById(id)
-                .map(this::mapToResponse);
+        Optional<ServiceResponse> serviceResponse = catalogCache.getService(id);
         return serviceResponse
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -87,7 +132,8 @@ public class ServiceController {
 
     // Justification: Helper method to map a Service entity to a ServiceResponse DTO.
     // This keeps the code clean and follows the DTO pattern.
-    private ServiceResponse mapToResponse(CarService service) {
-        return new ServiceResponse(service.getId(), service.getName(), service.getDescription(), service.getPrice(), service.getImageUrl());
+    // Package-private so the JMH benchmarks in src/jmh/java can exercise it directly.
+    ServiceResponse mapToResponse(CarService service) {
+        return ServiceCatalogCache.toResponse(service);
     }
 }
\ No newline at end of file
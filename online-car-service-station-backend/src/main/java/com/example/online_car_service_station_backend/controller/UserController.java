@@ -2,14 +2,17 @@ package com.example.online_car_service_station_backend.controller;
 
 import com.example.online_car_service_station_backend.dto.UserResponse;
 import com.example.online_car_service_station_backend.dto.UserUpdateRequest;
+import com.example.online_car_service_station_backend.dto.VersionStamp;
 import com.example.online_car_service_station_backend.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/users")
@@ -21,9 +24,16 @@ public class UserController {
 
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails,
+                                                       WebRequest webRequest) {
+        // Justification: Answers 304 from a single timestamp lookup when the profile has not changed.
+        VersionStamp version = userService.getCurrentUserVersion(userDetails);
+        String eTag = version.toETag("user-" + userDetails.getUsername());
+        if (webRequest.checkNotModified(eTag, version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         UserResponse userResponse = userService.getCurrentUser(userDetails);
-        return ResponseEntity.ok(userResponse);
+        return ResponseEntity.ok().eTag(eTag).body(userResponse);
     }
 
     // Justification: This new endpoint allows a customer to update their own profile.
@@ -0,0 +1,18 @@
+package com.example.online_car_service_station_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Justification: A start time at which the requested services can be booked. freeBays is the smallest
+// number of free bays over the slots the booking would occupy.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlot {
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private int freeBays;
+}
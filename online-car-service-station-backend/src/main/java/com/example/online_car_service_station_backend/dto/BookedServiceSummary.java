@@ -0,0 +1,21 @@
+package com.example.online_car_service_station_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Justification: Flat projection of one BookedService row joined to its CarService.
+// The bookingId lets the service layer group the lines back onto their BookingSummary.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookedServiceSummary {
+    private Long bookingId;
+    private Long carServiceId;
+    private String name;
+    private String description;
+    private BigDecimal priceAtBooking;
+    private String imageUrl;
+}
@@ -0,0 +1,29 @@
+package com.example.online_car_service_station_backend.dto;
+
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Justification: Payload of the booking events written to the outbox: the booking's state after the
+// change plus the previous status values, so consumers can tell what changed.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingEventPayload {
+    private Long bookingId;
+    private Long customerId;
+    private LocalDateTime bookingDateTime;
+    private BookingStatus status;
+    private BookingStatus previousStatus;
+    private PaymentStatus paymentStatus;
+    private PaymentStatus previousPaymentStatus;
+    private BigDecimal totalAmount;
+    private Integer rating;
+}
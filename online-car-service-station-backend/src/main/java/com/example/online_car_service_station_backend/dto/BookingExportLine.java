@@ -0,0 +1,33 @@
+package com.example.online_car_service_station_backend.dto;
+
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Justification: One row of the streaming booking export query: a booking joined to one of its booked
+// service lines (service fields are null for a booking without lines). Rows of the same booking arrive
+// next to each other and are folded into one BookingExportRow by BookingExportService.
+// The constructor argument order must match the select clause in BookingExportQuery.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingExportLine {
+    private Long bookingId;
+    private LocalDateTime bookingDateTime;
+    private Long customerId;
+    private String customerUsername;
+    private String customerFirstName;
+    private String customerLastName;
+    private BookingStatus status;
+    private PaymentStatus paymentStatus;
+    private BigDecimal totalAmount;
+    private Integer rating;
+    private String comment;
+    private String serviceName;
+    private BigDecimal priceAtBooking;
+}
@@ -0,0 +1,31 @@
+package com.example.online_car_service_station_backend.dto;
+
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Justification: One exported booking, written as a CSV row or an NDJSON line.
+// Only the row being written is held in memory, never the whole export.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingExportRow {
+    private Long bookingId;
+    private LocalDateTime bookingDateTime;
+    private Long customerId;
+    private String customerUsername;
+    private String customerFirstName;
+    private String customerLastName;
+    private BookingStatus status;
+    private PaymentStatus paymentStatus;
+    private BigDecimal totalAmount;
+    private Integer rating;
+    private String comment;
+    private List<String> services;
+}
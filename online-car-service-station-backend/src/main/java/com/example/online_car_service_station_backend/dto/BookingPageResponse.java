@@ -0,0 +1,19 @@
+package com.example.online_car_service_station_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Justification: One page of the keyset-paginated admin bookings listing.
+// nextCursor is an opaque token the client sends back to fetch the following page;
+// it is null when there are no more results.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageResponse {
+    private List<BookingResponse> bookings;
+    private String nextCursor;
+    private boolean hasMore;
+}
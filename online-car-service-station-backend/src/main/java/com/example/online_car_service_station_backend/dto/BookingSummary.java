@@ -0,0 +1,31 @@
+package com.example.online_car_service_station_backend.dto;
+
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Justification: Flat read-model row produced by a JPQL constructor expression in BookingRepository.
+// It carries exactly the booking, customer and user columns that BookingResponse exposes, so the
+// list queries can be served without materializing (and lazily navigating) the entity graph.
+// The constructor argument order must match the select clause in BookingRepository.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSummary {
+    private Long bookingId;
+    private Long customerId;
+    private String customerUsername;
+    private String customerFirstName;
+    private String customerLastName;
+    private LocalDateTime bookingDateTime;
+    private BookingStatus status;
+    private PaymentStatus paymentStatus;
+    private BigDecimal totalAmount;
+    private Integer rating;
+    private String comment;
+}
@@ -0,0 +1,24 @@
+package com.example.online_car_service_station_backend.dto;
+
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Justification: Moves many bookings to the same status and/or payment status in one call.
+// At least one of status and paymentStatus must be set; a null field is left unchanged.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateRequest {
+    @NotEmpty
+    @Size(max = 500)
+    private List<Long> bookingIds;
+    private BookingStatus status;
+    private PaymentStatus paymentStatus;
+}
@@ -0,0 +1,17 @@
+package com.example.online_car_service_station_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Justification: Result of a bulk status update: how many bookings changed and one result per
+// requested id, in request order.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResponse {
+    private int updated;
+    private List<BulkStatusUpdateResult> results;
+}
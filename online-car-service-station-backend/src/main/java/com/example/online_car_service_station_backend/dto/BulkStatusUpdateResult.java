@@ -0,0 +1,23 @@
+package com.example.online_car_service_station_backend.dto;
+
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Justification: Outcome of a bulk status update for one booking id. previousStatus and
+// previousPaymentStatus are the values before the call (null when the booking was not found).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResult {
+
+    public enum Outcome { UPDATED, UNCHANGED, NOT_FOUND, INVALID_TRANSITION }
+
+    private Long bookingId;
+    private Outcome outcome;
+    private BookingStatus previousStatus;
+    private PaymentStatus previousPaymentStatus;
+    private String message;
+}
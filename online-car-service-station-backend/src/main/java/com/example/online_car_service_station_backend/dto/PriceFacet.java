@@ -0,0 +1,19 @@
+package com.example.online_car_service_station_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Justification: One price-range bucket of a catalog search. min is inclusive, max is exclusive;
+// max is null for the open-ended top bucket. count ignores the request's own price filter so the
+// client can show how many results each range would give.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceFacet {
+    private BigDecimal min;
+    private BigDecimal max;
+    private long count;
+}
@@ -0,0 +1,20 @@
+package com.example.online_car_service_station_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Justification: Aggregate over several BookingDailyRollup rows, produced by a JPQL constructor expression.
+// The service layer turns it into a StatsBucket, deriving the average rating from sum and count.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupTotals {
+    private String key;
+    private BigDecimal revenue;
+    private Long revenueCount;
+    private Long ratingSum;
+    private Long ratingCount;
+}
@@ -1,6 +1,7 @@
 package com.example.online_car_service_station_backend.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -24,4 +25,8 @@ public class ServiceRequest {
     private BigDecimal price;
 
     private String imageUrl;
+
+    // Justification: Optional; services without a duration use the configured default.
+    @Min(value = 1, message = "Duration must be at least 1 minute")
+    private Integer durationMinutes;
 }
\ No newline at end of file
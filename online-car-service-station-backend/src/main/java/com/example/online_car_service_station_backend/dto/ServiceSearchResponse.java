@@ -0,0 +1,20 @@
+package com.example.online_car_service_station_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Justification: One ranked page of catalog search results, best match first.
+// total counts every match after the price filter; priceFacets are computed before it.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceSearchResponse {
+    private List<ServiceResponse> services;
+    private long total;
+    private int page;
+    private int size;
+    private List<PriceFacet> priceFacets;
+}
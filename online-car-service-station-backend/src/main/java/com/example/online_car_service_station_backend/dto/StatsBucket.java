@@ -0,0 +1,33 @@
+package com.example.online_car_service_station_backend.dto;
+
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Justification: One row of a stats breakdown (a day, a week, a month, a service or a booking status)
+// with the revenue and the number of bookings that fall into it. It is also used directly as a
+// JPQL constructor-expression target by the aggregate queries in BookingRepository.
+// averageRating is only filled for buckets read from the daily rollups and is omitted when null.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatsBucket {
+    private String key;
+    private BigDecimal revenue;
+    private Long bookings;
+    private Double averageRating;
+
+    public StatsBucket(String key, BigDecimal revenue, Long bookings) {
+        this(key, revenue, bookings, null);
+    }
+
+    // Justification: Constructor used by the per-status aggregate query, which selects the enum directly.
+    public StatsBucket(BookingStatus status, BigDecimal revenue, Long bookings) {
+        this(status.name(), revenue, bookings, null);
+    }
+}
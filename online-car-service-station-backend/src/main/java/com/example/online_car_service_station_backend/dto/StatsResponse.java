@@ -4,13 +4,27 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
+import java.util.List;
 
 // Justification: This DTO is specifically for the admin's stats page. It encapsulates
 // the total revenue from completed and paid bookings, providing a clean API contract.
+// The breakdown lists are computed in the database (SUM/COUNT ... GROUP BY) and cover
+// the requested date range; the two totals are all-time figures.
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class StatsResponse {
     private BigDecimal totalRevenue;
     private Long totalCompletedBookings;
-}
\ No newline at end of file
+
+    private List<StatsBucket> revenueByDay;
+    private List<StatsBucket> revenueByWeek;
+    private List<StatsBucket> revenueByMonth;
+    private List<StatsBucket> revenueByService;
+    private List<StatsBucket> bookingsByStatus;
+
+    public StatsResponse(BigDecimal totalRevenue, Long totalCompletedBookings) {
+        this.totalRevenue = totalRevenue;
+        this.totalCompletedBookings = totalCompletedBookings;
+    }
+}
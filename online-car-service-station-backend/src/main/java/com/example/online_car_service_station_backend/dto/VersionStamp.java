@@ -0,0 +1,30 @@
+package com.example.online_car_service_station_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Justification: Cheap summary of the version of a resource: how many rows it is made of and when the
+// most recent one changed. Controllers turn it into ETag and Last-Modified headers so unchanged data
+// can be answered with 304 Not Modified without loading or serializing the body.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionStamp {
+    private Long count;
+    private LocalDateTime lastModified;
+
+    // Justification: Weak ETag because it is derived from versions, not from the exact response bytes.
+    public String toETag(String prefix) {
+        return "W/\"" + prefix + "-" + count + "-" + lastModifiedMillis() + "\"";
+    }
+
+    // Justification: @UpdateTimestamp fills lastModified from the server's clock in its default zone, so it is
+    // converted to an instant in that zone.
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+    }
+}
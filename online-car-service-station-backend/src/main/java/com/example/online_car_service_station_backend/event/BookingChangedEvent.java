@@ -0,0 +1,30 @@
+package com.example.online_car_service_station_backend.event;
+
+import com.example.online_car_service_station_backend.model.Booking;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Justification: Published by BookingService and PaymentService after a booking's status, payment status
+// or rating changes (or just before it is deleted). It carries the booking together with the values it had
+// before the change so listeners such as RevenueRollupService can apply an exact delta.
+// Listeners run synchronously inside the publishing transaction.
+@Getter
+@AllArgsConstructor
+public class BookingChangedEvent {
+    private final Booking booking;
+    private final BookingStatus previousStatus;
+    private final PaymentStatus previousPaymentStatus;
+    private final Integer previousRating;
+    private final boolean deleted;
+
+    // Justification: Captures the current state of a booking before it is modified.
+    public static BookingChangedEvent before(Booking booking) {
+        return new BookingChangedEvent(booking, booking.getStatus(), booking.getPaymentStatus(), booking.getRating(), false);
+    }
+
+    public BookingChangedEvent asDeleted() {
+        return new BookingChangedEvent(booking, previousStatus, previousPaymentStatus, previousRating, true);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.online_car_service_station_backend.event;
+
+import java.util.List;
+
+// Justification: Extension point for side effects that must not run inside the request transaction
+// (notifications, analytics, search indexing...). Every Spring bean implementing this interface is called
+// by OutboxRelay with batches of committed events, ordered by outbox id, outside the request path.
+// Ids are allocated before commit, so ordering is not guaranteed; a consumer that needs the latest state
+// of an aggregate should compare ids or createdAt per aggregateId rather than trust arrival order.
+// Throwing makes the relay re-offer the batch one event at a time; the events that still fail are retried
+// for this consumer alone on a later poll, so handle() must be idempotent. Consumers run inside the relay's
+// transaction and must not write to the database through it: a failed write would mark the transaction
+// rollback-only and undo the bookkeeping of the whole batch.
+public interface OutboxConsumer {
+
+    String getName();
+
+    void handle(List<OutboxMessage> messages);
+}
@@ -0,0 +1,19 @@
+package com.example.online_car_service_station_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Justification: Read-only view of an outbox row as handed to OutboxConsumer implementations.
+// Delivery is at-least-once, so consumers should use 'id' to ignore events they have already handled.
+@Getter
+@AllArgsConstructor
+public class OutboxMessage {
+    private final Long id;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final String eventType;
+    private final String payload;
+    private final LocalDateTime createdAt;
+}
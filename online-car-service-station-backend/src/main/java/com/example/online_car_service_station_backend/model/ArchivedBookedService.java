@@ -0,0 +1,34 @@
+package com.example.online_car_service_station_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Justification: Cold copy of a booked service line, archived together with its ArchivedBooking.
+// carServiceId is kept without a foreign key so services can still be removed from the catalog.
+@Entity
+@Table(name = "booking_services_archive",
+        indexes = @Index(name = "idx_booking_services_archive_booking", columnList = "booking_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedBookedService {
+
+    @Id
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "car_service_id", nullable = false)
+    private Long carServiceId;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal priceAtBooking;
+
+    @Column(nullable = false)
+    private Integer quantity;
+}
@@ -0,0 +1,59 @@
+package com.example.online_car_service_station_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Justification: Cold copy of a booking moved out of the hot bookings table by BookingArchiveService once it is
+// COMPLETED, PAID and older than the archive horizon. It keeps the original id and column layout (filled by
+// INSERT ... SELECT), but no foreign keys, so archived rows never constrain the live tables.
+// Relations are plain id columns; the read paths join them explicitly.
+@Entity
+@Table(name = "bookings_archive", indexes = {
+        @Index(name = "idx_bookings_archive_datetime_id", columnList = "booking_date_time, id"),
+        @Index(name = "idx_bookings_archive_customer_datetime_id", columnList = "customer_id, booking_date_time, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedBooking {
+
+    @Id
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "booking_date_time", nullable = false)
+    private LocalDateTime bookingDateTime;
+
+    private Integer slotCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentStatus paymentStatus;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "razorpay_order_id", length = 40)
+    private String razorpayOrderId;
+
+    private Integer rating;
+    @Lob
+    private String comment;
+
+    private LocalDateTime updatedAt;
+
+    // Justification: When the row was moved to the archive.
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +16,18 @@ import java.util.Set;
 // Justification: The Booking entity is a core part of the application, representing a service appointment.
 // It tracks key information like the customer, booking date, status, and associated services.
 @Entity
-@Table(name = "bookings")
+// Justification: Composite indexes backing the keyset-paginated admin listing and the stats queries. Each one ends with
+// (booking_date_time, id) so a filtered page can seek directly to the cursor position.
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_datetime_id", columnList = "booking_date_time, id"),
+        @Index(name = "idx_bookings_status_datetime_id", columnList = "status, booking_date_time, id"),
+        @Index(name = "idx_bookings_payment_datetime_id", columnList = "payment_status, booking_date_time, id"),
+        @Index(name = "idx_bookings_customer_datetime_id", columnList = "customer_id, booking_date_time, id"),
+        // Justification: Covering index for the stats aggregates (filter + group key + summed column).
+        @Index(name = "idx_bookings_stats", columnList = "status, payment_status, booking_date_time, total_amount"),
+        // Justification: Lookup of the booking a Razorpay webhook refers to.
+        @Index(name = "idx_bookings_razorpay_order_id", columnList = "razorpay_order_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -47,22 +59,31 @@ public class Booking {
     private Set<BookedService> bookingServices = new HashSet<>();
 
     // Justification: The requested date and time for the service.
-    @Column(nullable = false)
+    @Column(name = "booking_date_time", nullable = false)
     private LocalDateTime bookingDateTime;
 
+    // Justification: Number of consecutive capacity slots, starting at bookingDateTime, that this booking
+    // occupies. Null for bookings created before slot capacity was tracked.
+    private Integer slotCount;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BookingStatus status;
 
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(name = "payment_status", nullable = false)
     private PaymentStatus paymentStatus;
 
     // Justification: The total amount for all services in this booking.
     // Using BigDecimal for monetary values to avoid precision issues.
-    @Column(nullable = false, precision = 10, scale = 2)
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
     private BigDecimal totalAmount;
 
+    // Justification: Id of the latest Razorpay order created for this booking. Payment webhooks only carry
+    // the order id, so this is how they are matched back to the booking.
+    @Column(name = "razorpay_order_id", length = 40)
+    private String razorpayOrderId;
+
 
     // Justification: These new fields store the customer's feedback. They are nullable
     // because a booking may not have feedback.
@@ -70,4 +91,8 @@ public class Booking {
     @Lob
     private String comment;
 
+    // Justification: Set by Hibernate on every write; the booking's ETag/Last-Modified version.
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.example.online_car_service_station_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Justification: Materialized daily rollup of booking activity, maintained incrementally by
+// RevenueRollupService whenever a booking's status, payment status or rating changes.
+// There is one row per (day, car service) plus one station-wide row per day with
+// carServiceId = ALL_SERVICES. The stats page reads these rows instead of scanning bookings,
+// so its cost grows with the number of days rather than the number of bookings.
+@Entity
+@Table(name = "booking_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_date_service", columnNames = {"rollup_date", "car_service_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDailyRollup {
+
+    // Justification: Sentinel service id for the station-wide row of a day. Catalog ids start at 1.
+    public static final long ALL_SERVICES = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Justification: The day of the booking's bookingDateTime.
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "car_service_id", nullable = false)
+    private Long carServiceId;
+
+    // Justification: Revenue of bookings that are both COMPLETED and PAID.
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    // Justification: Number of bookings that are both COMPLETED and PAID (the bookings counted in 'revenue').
+    @Column(nullable = false)
+    private Long revenueCount;
+
+    @Column(nullable = false)
+    private Long completedCount;
+
+    @Column(nullable = false)
+    private Long paidCount;
+
+    // Justification: Sum and count of ratings are stored instead of an average so that
+    // incremental updates stay exact; the average is derived when reading.
+    @Column(nullable = false)
+    private Long ratingSum;
+
+    @Column(nullable = false)
+    private Long ratingCount;
+}
@@ -0,0 +1,32 @@
+package com.example.online_car_service_station_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Justification: Capacity counter for one time slot at the station. 'reserved' is the number of service
+// bays already taken in the slot and never exceeds the configured bay count; SlotCapacityService only
+// changes it through conditional UPDATE statements, so concurrent bookings cannot overbook a slot.
+// Rows are created lazily the first time a slot is booked.
+@Entity
+@Table(name = "booking_slots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_booking_slots_start", columnNames = "slot_start"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Justification: Start of the slot; slots are app.booking.slot-minutes long and aligned to that length.
+    @Column(name = "slot_start", nullable = false)
+    private LocalDateTime slotStart;
+
+    @Column(nullable = false)
+    private Integer reserved;
+}
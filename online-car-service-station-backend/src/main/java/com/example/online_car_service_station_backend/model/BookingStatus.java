@@ -8,5 +8,15 @@ public enum BookingStatus {
     CONFIRMED,      // Admin has confirmed the booking
     IN_PROGRESS,    // Service is currently being performed
     COMPLETED,      // Service has been completed
-    CANCELLED       // Booking was cancelled by either customer or admin
+    CANCELLED;      // Booking was cancelled by either customer or admin
+
+    // Justification: Transitions allowed by the bulk status update. A booking only moves forward through
+    // the workshop (steps may be skipped) or is cancelled; COMPLETED and CANCELLED are final there.
+    // Reinstating a cancelled booking needs a capacity check, so it stays a single-booking operation.
+    public boolean canTransitionTo(BookingStatus next) {
+        if (this == COMPLETED || this == CANCELLED) {
+            return false;
+        }
+        return next == CANCELLED || next.ordinal() > ordinal();
+    }
 }
\ No newline at end of file
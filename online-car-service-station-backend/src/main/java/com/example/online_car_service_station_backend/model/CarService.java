@@ -2,10 +2,13 @@ package com.example.online_car_service_station_backend.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -17,6 +20,9 @@ import java.util.Set;
 @Data // Lombok: Generates getters, setters, toString(), equals(), and hashCode()
 @NoArgsConstructor // Lombok: Generates a no-argument constructor (required by JPA)
 @AllArgsConstructor // Lombok: Generates a constructor with all fields
+// Justification: As on Booking, the inverse collection stays out of equals()/hashCode(). Otherwise hashing a
+// BookedService hashes its CarService, which lazily loads every booking line of that service.
+@EqualsAndHashCode(exclude = "bookingServices")
 public class CarService {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-incrementing primary key
@@ -40,7 +46,13 @@ public class CarService {
     // This addresses the 'with image' requirement from the initial project notes.
     private String imageUrl;
 
-    // Additional fields could be added here, such as 'durationInMinutes', 'isAvailable', etc.
+    // Justification: Set by Hibernate on every write; the latest one across services versions the catalog response.
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    // Justification: How long the service takes in a bay. Used to work out how many capacity slots a
+    // booking occupies; null falls back to app.booking.default-service-minutes.
+    private Integer durationMinutes;
 
     // Justification: This completes the many-to-many relationship with Booking through the BookingService entity.
     // 'mappedBy' indicates that the other side (BookingService entity) is the owner of the relationship.
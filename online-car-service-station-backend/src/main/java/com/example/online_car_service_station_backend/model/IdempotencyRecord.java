@@ -0,0 +1,60 @@
+package com.example.online_car_service_station_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Justification: Durable record of a client-supplied Idempotency-Key. The row is inserted (claimed) before
+// the operation runs, so concurrent retries collide on the unique constraint. Once the operation succeeds
+// its JSON response is stored, and later retries with the same key replay it instead of doing the work again.
+// Keys are scoped per operation and per user, and rows are purged after their expiry. A claim that is never
+// completed (the process died, or storing the response failed) is taken over by a retry once its lease
+// has run out, instead of blocking the key until it expires.
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_scope_owner_key",
+                columnNames = {"scope", "owner_name", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Justification: The operation the key belongs to, e.g. "create-booking".
+    @Column(nullable = false, length = 40)
+    private String scope;
+
+    // Justification: Username of the caller; the same key from two users never clashes.
+    @Column(name = "owner_name", nullable = false, length = 100)
+    private String ownerName;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    // Justification: SHA-256 of the request body. A retry must send the same body to get the stored response.
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    // Justification: JSON of the successful response; null while the first request is still in progress.
+    @Lob
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Justification: When the current owner claimed the key. Also fences the claim: completing or releasing
+    // it only succeeds while this still matches, so an owner whose claim was taken over cannot overwrite it.
+    // Null on rows from before leases existed; those count as abandoned.
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
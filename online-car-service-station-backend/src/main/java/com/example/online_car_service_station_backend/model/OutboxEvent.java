@@ -0,0 +1,56 @@
+package com.example.online_car_service_station_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Justification: Transactional outbox row. It is written in the same transaction as the booking or payment
+// change it describes, so an event exists if and only if the change committed, even if the process crashes
+// right after. OutboxRelay later hands unpublished rows to the in-process consumers and stamps publishedAt.
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_published_id", columnList = "published_at, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Justification: Kind of entity the event is about, e.g. "Booking".
+    @Column(nullable = false, length = 40)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    // Justification: e.g. "BookingCreated", "BookingStatusChanged", "BookingPaymentStatusChanged".
+    @Column(nullable = false, length = 60)
+    private String eventType;
+
+    // Justification: JSON snapshot of the change, so consumers never need to re-read the booking.
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Justification: Null until every consumer has accepted the event (or it was given up on).
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    // Justification: Comma-separated names of the consumers that have already accepted the event, so a
+    // retry only goes to the consumers that failed. Null until the first one accepts it.
+    @Column(name = "delivered_to")
+    private String deliveredTo;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    private String lastError;
+}
@@ -4,5 +4,10 @@ package com.example.online_car_service_station_backend.model;
 // a standardized way to track whether a payment is pending or has been successfully made.
 public enum PaymentStatus {
     PENDING,        // Payment has not yet been received
-    PAID            // Payment has been successfully processed
+    PAID;           // Payment has been successfully processed
+
+    // Justification: A payment can be recorded but not taken back by a bulk update; refunds are not modelled.
+    public boolean canTransitionTo(PaymentStatus next) {
+        return this == PENDING && next == PAID;
+    }
 }
\ No newline at end of file
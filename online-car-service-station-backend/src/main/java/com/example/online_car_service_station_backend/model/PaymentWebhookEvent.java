@@ -0,0 +1,54 @@
+package com.example.online_car_service_station_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Justification: Durable queue entry for a verified Razorpay webhook. The webhook endpoint only inserts a
+// row and returns; the PaymentWebhookService workers apply the rows to bookings. The unique payment id
+// makes Razorpay's redeliveries and the payment.captured/order.paid pair for the same payment collapse
+// into a single entry.
+@Entity
+@Table(name = "payment_webhook_events",
+        uniqueConstraints = @UniqueConstraint(name = "uk_webhook_payment_id", columnNames = "payment_id"),
+        indexes = @Index(name = "idx_webhook_status_available_id", columnList = "status, available_at, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentWebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "payment_id", nullable = false, length = 40)
+    private String paymentId;
+
+    @Column(name = "order_id", nullable = false, length = 40)
+    private String orderId;
+
+    // Justification: Razorpay event name, e.g. "payment.captured".
+    @Column(nullable = false, length = 40)
+    private String eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WebhookEventStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    private String lastError;
+
+    // Justification: Earliest time a worker may (re)try the event; pushed back after each failed attempt.
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+
+    private LocalDateTime processedAt;
+}
@@ -5,7 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -90,4 +92,13 @@ public class User {
     @OneToOne(mappedBy = "user", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, orphanRemoval = true, fetch = FetchType.LAZY)
     private Customer customerProfile; // <--- NEW MAPPING FOR CUSTOMER
 
+    // Justification: Bumped whenever the user's credentials or token claims change; issued tokens carry
+    // the version and stop being accepted once it moves on (see TokenVersionCache). Null means 0.
+    @Column(name = "token_version")
+    private Integer tokenVersion;
+
+    // Justification: Version of the profile response. Customer-only edits bump it explicitly (see UserService).
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
 }
\ No newline at end of file
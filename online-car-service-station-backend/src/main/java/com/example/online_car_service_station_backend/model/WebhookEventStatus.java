@@ -0,0 +1,8 @@
+package com.example.online_car_service_station_backend.model;
+
+// Justification: Processing state of a queued payment webhook event.
+public enum WebhookEventStatus {
+    NEW,        // Received and verified, waiting for a worker
+    PROCESSED,  // Applied to the booking (or found to need no change)
+    FAILED      // Gave up after the maximum number of attempts
+}
@@ -0,0 +1,13 @@
+package com.example.online_car_service_station_backend.payment;
+
+import com.razorpay.RazorpayException;
+
+// Justification: Seam between PaymentService and the remote payment provider. Production uses
+// RazorpayPaymentGateway; tests and the load harness register a local fake instead, so payment flows
+// can be exercised without network access or real Razorpay credentials.
+public interface PaymentGateway {
+
+    // Justification: Creates an order with the provider and returns its order id.
+    // The amount is in the smallest currency unit (e.g. paise for INR).
+    String createOrder(long amountInSmallestUnit, String currency, String receipt) throws RazorpayException;
+}
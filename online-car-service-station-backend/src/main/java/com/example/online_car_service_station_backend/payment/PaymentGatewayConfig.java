@@ -0,0 +1,45 @@
+package com.example.online_car_service_station_backend.payment;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+// Justification: Wires the shared payment gateway. The provider client is registered as
+// "paymentGatewayDelegate", and the primary PaymentGateway bean wraps it with the bulkhead and circuit
+// breaker. The load harness registers its own delegate under the same name, so the fake provider runs
+// behind exactly the same protection as Razorpay does in production.
+@Configuration
+public class PaymentGatewayConfig {
+
+    public static final String DELEGATE_BEAN = "paymentGatewayDelegate";
+
+    @Bean(name = DELEGATE_BEAN)
+    @ConditionalOnMissingBean(name = DELEGATE_BEAN)
+    public PaymentGateway razorpayPaymentGateway(
+            @Value("${razorpay.api.base-url:https://api.razorpay.com/v1}") String baseUrl,
+            @Value("${razorpay.key.id}") String keyId,
+            @Value("${razorpay.key.secret}") String keySecret,
+            @Value("${payment.gateway.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${payment.gateway.read-timeout-ms:5000}") long readTimeoutMillis) {
+        return new RazorpayPaymentGateway(baseUrl, keyId, keySecret,
+                Duration.ofMillis(connectTimeoutMillis), Duration.ofMillis(readTimeoutMillis));
+    }
+
+    @Bean
+    @Primary
+    public ResilientPaymentGateway paymentGateway(
+            @Qualifier(DELEGATE_BEAN) PaymentGateway delegate,
+            @Value("${payment.gateway.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${payment.gateway.max-wait-ms:100}") long maxWaitMillis,
+            @Value("${payment.gateway.slow-call-ms:3000}") long slowCallMillis,
+            @Value("${payment.gateway.failure-threshold:5}") int failureThreshold,
+            @Value("${payment.gateway.open-duration-ms:30000}") long openDurationMillis) {
+        return new ResilientPaymentGateway(delegate, new CircuitBreaker(failureThreshold, openDurationMillis),
+                maxConcurrentCalls, maxWaitMillis, slowCallMillis);
+    }
+}
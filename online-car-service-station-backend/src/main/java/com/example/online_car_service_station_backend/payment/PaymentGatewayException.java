@@ -0,0 +1,17 @@
+package com.example.online_car_service_station_backend.payment;
+
+import com.razorpay.RazorpayException;
+
+// Justification: The payment provider failed to handle a call (connection error, timeout, 5xx answer).
+// Unlike a RazorpayException for a rejected request, these count against the circuit breaker.
+public class PaymentGatewayException extends RazorpayException {
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message);
+        initCause(cause);
+    }
+}
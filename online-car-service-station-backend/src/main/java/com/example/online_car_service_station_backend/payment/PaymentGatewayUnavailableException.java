@@ -0,0 +1,12 @@
+package com.example.online_car_service_station_backend.payment;
+
+import com.razorpay.RazorpayException;
+
+// Justification: Thrown without calling the provider when the circuit breaker is open or the bulkhead is
+// full, so callers fail fast instead of queueing behind a degraded gateway.
+public class PaymentGatewayUnavailableException extends RazorpayException {
+
+    public PaymentGatewayUnavailableException(String message) {
+        super(message);
+    }
+}
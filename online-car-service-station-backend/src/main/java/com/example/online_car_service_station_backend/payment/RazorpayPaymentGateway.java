@@ -0,0 +1,80 @@
+package com.example.online_car_service_station_backend.payment;
+
+import com.razorpay.RazorpayException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+// Justification: PaymentGateway that calls the Razorpay Orders API. One instance, and one java.net.http
+// HttpClient, is shared by all requests, so TLS connections are pooled and kept alive instead of being set
+// up for each order (the SDK's RazorpayClient was constructed per call). The connect timeout and the
+// per-request timeout bound how long a Tomcat thread can wait on Razorpay. Constructed by
+// PaymentGatewayConfig and used behind ResilientPaymentGateway.
+public class RazorpayPaymentGateway implements PaymentGateway {
+
+    private final HttpClient httpClient;
+    private final URI ordersUri;
+    private final String authorization;
+    private final Duration readTimeout;
+
+    public RazorpayPaymentGateway(String baseUrl, String keyId, String keySecret, Duration connectTimeout, Duration readTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.ordersUri = URI.create(baseUrl + "/orders");
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((keyId + ":" + keySecret).getBytes(StandardCharsets.UTF_8));
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public String createOrder(long amountInSmallestUnit, String currency, String receipt) throws RazorpayException {
+        JSONObject orderRequest = new JSONObject();
+        orderRequest.put("amount", amountInSmallestUnit);
+        orderRequest.put("currency", currency);
+        orderRequest.put("receipt", receipt);
+
+        HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                .timeout(readTimeout)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(orderRequest.toString()))
+                .build();
+
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (HttpTimeoutException e) {
+            throw new PaymentGatewayException("Razorpay did not answer within " + readTimeout.toMillis() + " ms", e);
+        } catch (IOException e) {
+            throw new PaymentGatewayException("Could not reach Razorpay: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while calling Razorpay", e);
+        }
+
+        int status = response.statusCode();
+        if (status >= 500) {
+            throw new PaymentGatewayException("Razorpay returned HTTP " + status);
+        }
+        JSONObject body = new JSONObject(response.body());
+        if (status >= 400) {
+            // Justification: Same "CODE:description" shape as the SDK's RazorpayException messages.
+            JSONObject error = body.optJSONObject("error");
+            String message = error != null
+                    ? error.optString("code") + ":" + error.optString("description")
+                    : "Razorpay returned HTTP " + status;
+            throw new RazorpayException(message);
+        }
+        return body.getString("id");
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.online_car_service_station_backend.payment;
+
+import com.razorpay.RazorpayException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Justification: Wraps the real gateway with a bulkhead and a circuit breaker. The bulkhead caps concurrent
+// provider calls so a slow gateway cannot hold every Tomcat thread. The breaker opens after repeated
+// failures or slow calls and then fails fast (PaymentGatewayUnavailableException) until a trial call
+// succeeds. A RazorpayException for a rejected request means the provider is healthy, so it does not count
+// as a failure.
+public class ResilientPaymentGateway implements PaymentGateway {
+
+    private final PaymentGateway delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final long maxWaitMillis;
+    private final long slowCallNanos;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder slowCalls = new LongAdder();
+    private final LongAdder rejectedByBreaker = new LongAdder();
+    private final LongAdder rejectedByBulkhead = new LongAdder();
+
+    public ResilientPaymentGateway(PaymentGateway delegate, CircuitBreaker circuitBreaker,
+                                   int maxConcurrentCalls, long maxWaitMillis, long slowCallMillis) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.maxWaitMillis = maxWaitMillis;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+    }
+
+    @Override
+    public String createOrder(long amountInSmallestUnit, String currency, String receipt) throws RazorpayException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            rejectedByBreaker.increment();
+            throw new PaymentGatewayUnavailableException("Payment gateway is temporarily unavailable. Please try again shortly.");
+        }
+        if (!acquireBulkhead()) {
+            circuitBreaker.onNotCalled();
+            rejectedByBulkhead.increment();
+            throw new PaymentGatewayUnavailableException("Too many payment requests in progress. Please try again shortly.");
+        }
+        calls.increment();
+        long start = System.nanoTime();
+        try {
+            String orderId = delegate.createOrder(amountInSmallestUnit, currency, receipt);
+            if (System.nanoTime() - start > slowCallNanos) {
+                slowCalls.increment();
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            return orderId;
+        } catch (PaymentGatewayException | RuntimeException e) {
+            failures.increment();
+            circuitBreaker.onFailure();
+            throw e;
+        } catch (RazorpayException e) {
+            circuitBreaker.onSuccess();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("state", circuitBreaker.getState().name());
+        metrics.put("calls", calls.sum());
+        metrics.put("failures", failures.sum());
+        metrics.put("slowCalls", slowCalls.sum());
+        metrics.put("rejectedByBreaker", rejectedByBreaker.sum());
+        metrics.put("rejectedByBulkhead", rejectedByBulkhead.sum());
+        metrics.put("availableConcurrentCalls", bulkhead.availablePermits());
+        return metrics;
+    }
+
+    // Justification: Runs after the breaker granted a permit; an interrupted wait gives it back like a full
+    // bulkhead does, or a half-open breaker would keep its trial slot and reject every call from then on.
+    private boolean acquireBulkhead() throws PaymentGatewayUnavailableException {
+        try {
+            return bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            circuitBreaker.onNotCalled();
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayUnavailableException("Interrupted while waiting for the payment gateway");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.model.Admin;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+// Justification: Provides CRUD operations for the Admin entity, mirroring CustomerRepository
+// for administrator-specific profiles.
+@Repository
+public interface AdminRepository extends JpaRepository<Admin, Long> {
+    // Justification: Finds an admin profile by its associated user's ID (shared primary key).
+    Optional<Admin> findByUserId(Long userId);
+}
@@ -0,0 +1,68 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.dto.BookedServiceSummary;
+import com.example.online_car_service_station_backend.dto.BookingSummary;
+import com.example.online_car_service_station_backend.model.ArchivedBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Justification: Read and move operations for the booking archive. The read queries mirror the BookingRepository
+// projections, so archived rows come back as the same BookingSummary/BookedServiceSummary DTOs. The move is done
+// with set-based native statements over one batch of ids, so archiving never loads bookings into the JVM.
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long>, ArchivedBookingRepositoryCustom {
+
+    @Query("select new com.example.online_car_service_station_backend.dto.BookingSummary(" +
+            "a.id, c.id, u.username, c.firstName, c.lastName, a.bookingDateTime, a.status, " +
+            "a.paymentStatus, a.totalAmount, a.rating, a.comment) " +
+            "from ArchivedBooking a join Customer c on c.id = a.customerId join c.user u " +
+            "where a.id = :id")
+    Optional<BookingSummary> findSummaryById(@Param("id") Long id);
+
+    // Justification: Service lines of archived bookings. Left join, because the catalog entry may have been
+    // deleted since; the line then keeps its id and price without a name.
+    @Query("select new com.example.online_car_service_station_backend.dto.BookedServiceSummary(" +
+            "l.bookingId, l.carServiceId, cs.name, cs.description, l.priceAtBooking, cs.imageUrl) " +
+            "from ArchivedBookedService l left join CarService cs on cs.id = l.carServiceId " +
+            "where l.bookingId in :bookingIds " +
+            "order by l.bookingId, l.id")
+    List<BookedServiceSummary> findBookedServiceSummariesByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Justification: Picks the next batch of archivable bookings, oldest first, and locks them. The predicate is
+    // served by idx_bookings_stats (status, payment_status, booking_date_time); SKIP LOCKED leaves bookings that
+    // are being edited right now for the next run.
+    @Query(value = "select id from bookings " +
+            "where status = 'COMPLETED' and payment_status = 'PAID' and booking_date_time < :cutoff " +
+            "order by booking_date_time, id limit :limit for update skip locked", nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "insert into bookings_archive (id, customer_id, booking_date_time, slot_count, status, payment_status, " +
+            "total_amount, razorpay_order_id, rating, comment, updated_at, archived_at) " +
+            "select id, customer_id, booking_date_time, slot_count, status, payment_status, " +
+            "total_amount, razorpay_order_id, rating, comment, updated_at, :now " +
+            "from bookings where id in :ids", nativeQuery = true)
+    int copyBookings(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "insert into booking_services_archive (id, booking_id, car_service_id, price_at_booking, quantity) " +
+            "select id, booking_id, car_service_id, price_at_booking, quantity " +
+            "from booking_services where booking_id in :ids", nativeQuery = true)
+    int copyBookedServices(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from booking_services where booking_id in :ids", nativeQuery = true)
+    int deleteBookedServices(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from bookings where id in :ids", nativeQuery = true)
+    int deleteBookings(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,23 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.dto.BookingExportLine;
+import com.example.online_car_service_station_backend.dto.BookingSummary;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Justification: Custom fragment of ArchivedBookingRepository for queries whose shape depends on the arguments.
+public interface ArchivedBookingRepositoryCustom {
+
+    // Same keyset page and filters as BookingRepositoryCustom.findSummariesPage, over the archive.
+    List<BookingSummary> findSummariesPage(BookingStatus status, PaymentStatus paymentStatus, Long customerId,
+                                           LocalDateTime from, LocalDateTime to,
+                                           LocalDateTime cursorDateTime, Long cursorId, int limit);
+
+    // Archive counterpart of BookingRepositoryCustom.streamExportLines.
+    Stream<BookingExportLine> streamExportLines(BookingStatus status, PaymentStatus paymentStatus,
+                                                LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,36 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.dto.BookingExportLine;
+import com.example.online_car_service_station_backend.dto.BookingSummary;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ArchivedBookingRepositoryImpl implements ArchivedBookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingSummary> findSummariesPage(BookingStatus status, PaymentStatus paymentStatus, Long customerId,
+                                                  LocalDateTime from, LocalDateTime to,
+                                                  LocalDateTime cursorDateTime, Long cursorId, int limit) {
+        return BookingSummaryPageQuery.find(entityManager,
+                "from ArchivedBooking b join Customer c on c.id = b.customerId join c.user u", "b.customerId",
+                status, paymentStatus, customerId, from, to, cursorDateTime, cursorId, limit);
+    }
+
+    @Override
+    public Stream<BookingExportLine> streamExportLines(BookingStatus status, PaymentStatus paymentStatus,
+                                                       LocalDateTime from, LocalDateTime to) {
+        return BookingExportQuery.stream(entityManager,
+                "from ArchivedBooking b join Customer c on c.id = b.customerId join c.user u " +
+                        "left join ArchivedBookedService l on l.bookingId = b.id left join CarService cs on cs.id = l.carServiceId",
+                status, paymentStatus, from, to);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.dto.RollupTotals;
+import com.example.online_car_service_station_backend.model.BookingDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Justification: Data access for the materialized daily rollups. Incremental changes are applied with a
+// single atomic upsert (see BookingDailyRollupRepositoryImpl) so concurrent booking updates never lose
+// increments, and the backfill is done with set-based INSERT ... SELECT statements instead of loading
+// bookings into the JVM.
+@Repository
+public interface BookingDailyRollupRepository extends JpaRepository<BookingDailyRollup, Long>, BookingDailyRollupRepositoryCustom {
+
+    @Modifying
+    @Query(value = "delete from booking_daily_rollups", nativeQuery = true)
+    void deleteAllRows();
+
+    // Justification: Backfill of the station-wide rows (car_service_id = 0), one per day. Archived bookings are
+    // included, since archiving moves rows out of the hot tables but not out of the revenue history.
+    @Modifying
+    @Query(value = "insert into booking_daily_rollups " +
+            "(rollup_date, car_service_id, revenue, revenue_count, completed_count, paid_count, rating_sum, rating_count) " +
+            "select cast(b.booking_date_time as date), 0, " +
+            "sum(case when b.status = 'COMPLETED' and b.payment_status = 'PAID' then b.total_amount else 0 end), " +
+            "sum(case when b.status = 'COMPLETED' and b.payment_status = 'PAID' then 1 else 0 end), " +
+            "sum(case when b.status = 'COMPLETED' then 1 else 0 end), " +
+            "sum(case when b.payment_status = 'PAID' then 1 else 0 end), " +
+            "coalesce(sum(b.rating), 0), count(b.rating) " +
+            "from (select booking_date_time, status, payment_status, total_amount, rating from bookings " +
+            "      union all " +
+            "      select booking_date_time, status, payment_status, total_amount, rating from bookings_archive) b " +
+            "group by cast(b.booking_date_time as date)", nativeQuery = true)
+    int rebuildStationRows();
+
+    // Justification: Backfill of the per-service rows. Revenue uses the price stored on the booked line.
+    @Modifying
+    @Query(value = "insert into booking_daily_rollups " +
+            "(rollup_date, car_service_id, revenue, revenue_count, completed_count, paid_count, rating_sum, rating_count) " +
+            "select cast(b.booking_date_time as date), bs.car_service_id, " +
+            "sum(case when b.status = 'COMPLETED' and b.payment_status = 'PAID' then bs.price_at_booking * bs.quantity else 0 end), " +
+            "sum(case when b.status = 'COMPLETED' and b.payment_status = 'PAID' then 1 else 0 end), " +
+            "sum(case when b.status = 'COMPLETED' then 1 else 0 end), " +
+            "sum(case when b.payment_status = 'PAID' then 1 else 0 end), " +
+            "coalesce(sum(b.rating), 0), count(b.rating) " +
+            "from (select booking_id, car_service_id, price_at_booking, quantity from booking_services " +
+            "      union all " +
+            "      select booking_id, car_service_id, price_at_booking, quantity from booking_services_archive) bs " +
+            "join (select id, booking_date_time, status, payment_status, rating from bookings " +
+            "      union all " +
+            "      select id, booking_date_time, status, payment_status, rating from bookings_archive) b " +
+            "on b.id = bs.booking_id " +
+            "group by cast(b.booking_date_time as date), bs.car_service_id", nativeQuery = true)
+    int rebuildServiceRows();
+
+    // Justification: The station-wide rows for a date range, used for the day/week/month breakdowns.
+    List<BookingDailyRollup> findByCarServiceIdAndRollupDateBetweenOrderByRollupDate(Long carServiceId, LocalDate from, LocalDate to);
+
+    // Justification: All-time totals, read from at most one row per day. The sums are null when the table is empty.
+    @Query("select new com.example.online_car_service_station_backend.dto.RollupTotals(" +
+            "'ALL', sum(r.revenue), sum(r.revenueCount), sum(r.ratingSum), sum(r.ratingCount)) " +
+            "from BookingDailyRollup r where r.carServiceId = 0")
+    RollupTotals sumAllTime();
+
+    // Justification: Per-service revenue and rating for a date range, joined to the catalog for the name.
+    @Query("select new com.example.online_car_service_station_backend.dto.RollupTotals(" +
+            "cs.name, sum(r.revenue), sum(r.revenueCount), sum(r.ratingSum), sum(r.ratingCount)) " +
+            "from BookingDailyRollup r, CarService cs " +
+            "where cs.id = r.carServiceId and r.rollupDate between :from and :to " +
+            "group by cs.id, cs.name " +
+            "order by sum(r.revenue) desc")
+    List<RollupTotals> sumByService(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
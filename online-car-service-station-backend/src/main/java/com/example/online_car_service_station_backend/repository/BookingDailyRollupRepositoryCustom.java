@@ -0,0 +1,16 @@
+package com.example.online_car_service_station_backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Justification: Custom fragment of BookingDailyRollupRepository for the dialect-specific statements.
+public interface BookingDailyRollupRepositoryCustom {
+
+    // Adds the given deltas to the (day, service) rollup row, creating it if it does not exist yet.
+    void applyDelta(LocalDate day, Long serviceId, BigDecimal revenue, long revenueCount, long completedCount,
+                    long paidCount, long ratingSum, long ratingCount);
+
+    // Locks every booking for the rest of the rebuild transaction, so booking writes wait for the rebuild
+    // instead of applying deltas to rows it is about to replace.
+    void lockBookingsForShare();
+}
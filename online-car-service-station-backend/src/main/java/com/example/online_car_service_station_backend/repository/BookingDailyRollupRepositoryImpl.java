@@ -0,0 +1,77 @@
+package com.example.online_car_service_station_backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Justification: On MySQL the upsert uses the row-alias form (MySQL 8.0.19+), which replaces the deprecated
+// VALUES() function in ON DUPLICATE KEY UPDATE. H2, which runs the tests and the load-test harness in MySQL
+// mode, does not accept the alias and keeps the VALUES() form. It has no FOR SHARE either, so the rebuild
+// takes exclusive row locks there. The dialect is resolved once.
+public class BookingDailyRollupRepositoryImpl implements BookingDailyRollupRepositoryCustom {
+
+    private static final String INSERT = "insert into booking_daily_rollups " +
+            "(rollup_date, car_service_id, revenue, revenue_count, completed_count, paid_count, rating_sum, rating_count) " +
+            "values (:day, :serviceId, :revenue, :revenueCount, :completedCount, :paidCount, :ratingSum, :ratingCount)";
+
+    private static final String MYSQL_UPSERT = INSERT + " as new " +
+            "on duplicate key update revenue = revenue + new.revenue, " +
+            "revenue_count = revenue_count + new.revenue_count, " +
+            "completed_count = completed_count + new.completed_count, " +
+            "paid_count = paid_count + new.paid_count, " +
+            "rating_sum = rating_sum + new.rating_sum, " +
+            "rating_count = rating_count + new.rating_count";
+
+    private static final String H2_UPSERT = INSERT + " " +
+            "on duplicate key update revenue = revenue + values(revenue), " +
+            "revenue_count = revenue_count + values(revenue_count), " +
+            "completed_count = completed_count + values(completed_count), " +
+            "paid_count = paid_count + values(paid_count), " +
+            "rating_sum = rating_sum + values(rating_sum), " +
+            "rating_count = rating_count + values(rating_count)";
+
+    private static final String MYSQL_LOCK_BOOKINGS = "select count(*) from bookings for share";
+
+    private static final String H2_LOCK_BOOKINGS = "select id from bookings for update";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean mysql;
+
+    @Override
+    public void applyDelta(LocalDate day, Long serviceId, BigDecimal revenue, long revenueCount, long completedCount,
+                           long paidCount, long ratingSum, long ratingCount) {
+        entityManager.createNativeQuery(upsertSql())
+                .setParameter("day", day)
+                .setParameter("serviceId", serviceId)
+                .setParameter("revenue", revenue)
+                .setParameter("revenueCount", revenueCount)
+                .setParameter("completedCount", completedCount)
+                .setParameter("paidCount", paidCount)
+                .setParameter("ratingSum", ratingSum)
+                .setParameter("ratingCount", ratingCount)
+                .executeUpdate();
+    }
+
+    @Override
+    public void lockBookingsForShare() {
+        entityManager.createNativeQuery(isMysql() ? MYSQL_LOCK_BOOKINGS : H2_LOCK_BOOKINGS).getResultList();
+    }
+
+    private String upsertSql() {
+        return isMysql() ? MYSQL_UPSERT : H2_UPSERT;
+    }
+
+    private boolean isMysql() {
+        if (mysql == null) {
+            mysql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof MySQLDialect;
+        }
+        return mysql;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.dto.BookingExportLine;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Justification: Builds the streaming export query shared by the live and archived bookings: each booking
+// joined to its service lines, newest first, with the lines of one booking next to each other. As in
+// BookingSummaryPageQuery only the filters that are set become predicates, so MySQL can use the
+// idx_bookings_stats range instead of evaluating catch-all "(:x is null or ...)" predicates row by row.
+// On MySQL a fetch size of Integer.MIN_VALUE makes Connector/J stream rows one at a time instead of
+// buffering the whole result set; H2 rejects a negative fetch size, so it keeps its default. The
+// constructor expression keeps the persistence context empty, so memory stays flat however many rows are
+// read. The stream must be consumed and closed inside the caller's transaction,
+// and no other statement may run on the connection until it is closed.
+final class BookingExportQuery {
+
+    private static final String SELECT = "select new com.example.online_car_service_station_backend.dto.BookingExportLine(" +
+            "b.id, b.bookingDateTime, c.id, u.username, c.firstName, c.lastName, b.status, " +
+            "b.paymentStatus, b.totalAmount, b.rating, b.comment, cs.name, l.priceAtBooking) ";
+
+    private BookingExportQuery() {
+    }
+
+    // 'from' must alias the booking as b, its customer as c, the customer's user as u, the service line as l
+    // and the line's service as cs.
+    static Stream<BookingExportLine> stream(EntityManager entityManager, String from, BookingStatus status,
+                                            PaymentStatus paymentStatus, LocalDateTime fromDateTime,
+                                            LocalDateTime toDateTime) {
+        StringBuilder jpql = new StringBuilder(SELECT).append(from);
+        Map<String, Object> parameters = BookingSummaryPageQuery.filters(jpql, null, status, paymentStatus, null,
+                fromDateTime, toDateTime);
+        jpql.append(" order by b.bookingDateTime desc, b.id desc, l.id");
+
+        TypedQuery<BookingExportLine> query = entityManager.createQuery(jpql.toString(), BookingExportLine.class);
+        parameters.forEach(query::setParameter);
+        if (isMysql(entityManager)) {
+            query.setHint("org.hibernate.fetchSize", Integer.MIN_VALUE);
+        }
+        return query.getResultStream();
+    }
+
+    private static boolean isMysql(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+}
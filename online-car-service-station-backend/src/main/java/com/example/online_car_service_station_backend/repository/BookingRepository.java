@@ -0,0 +1,114 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.dto.BookedServiceSummary;
+import com.example.online_car_service_station_backend.dto.BookingSummary;
+import com.example.online_car_service_station_backend.dto.StatsBucket;
+import com.example.online_car_service_station_backend.dto.VersionStamp;
+import com.example.online_car_service_station_backend.model.Booking;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.Customer;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Justification: Provides CRUD operations for the Booking entity plus read-side projection queries.
+// The projection queries select only the columns a BookingResponse needs, so listing bookings never
+// walks the lazy customer/user/bookingServices associations row by row (the classic N+1 problem).
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+
+    // Justification: Used by the customer "my bookings" screen.
+    List<Booking> findByCustomer(Customer customer);
+
+    // Justification: Targeted update so that recording the Razorpay order never rewrites other columns
+    // from a possibly stale copy of the booking.
+    @Transactional
+    @Modifying
+    @Query("update Booking b set b.razorpayOrderId = :orderId where b.id = :bookingId")
+    int updateRazorpayOrderId(@Param("bookingId") Long bookingId, @Param("orderId") String orderId);
+
+    // Justification: Loads and row-locks the bookings of a bulk status update in one SELECT ... FOR UPDATE,
+    // in id order so concurrent bulk updates cannot deadlock. The entities are read-only: the new status is
+    // written by the set-based updates below, and the in-memory copies are only adjusted for the
+    // BookingChangedEvent listeners, so Hibernate must not flush them row by row.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("select b from Booking b where b.id in :ids order by b.id")
+    List<Booking> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Justification: Initializes the service lines of already loaded bookings in one SELECT, so event
+    // listeners that walk booking.getBookingServices() do not lazy-load them one booking at a time.
+    @Query("select distinct b from Booking b left join fetch b.bookingServices bs left join fetch bs.carService " +
+            "where b.id in :ids")
+    List<Booking> fetchServiceLinesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Justification: Set-based status changes for a bulk update: one statement for the whole batch.
+    // @UpdateTimestamp does not apply to JPQL updates, so updatedAt is set explicitly.
+    @Modifying
+    @Query("update Booking b set b.status = :status, b.updatedAt = :now where b.id in :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("status") BookingStatus status,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Booking b set b.paymentStatus = :paymentStatus, b.updatedAt = :now where b.id in :ids")
+    int updatePaymentStatusByIdIn(@Param("ids") Collection<Long> ids,
+                                  @Param("paymentStatus") PaymentStatus paymentStatus,
+                                  @Param("now") LocalDateTime now);
+
+    // Justification: Resolves a batch of Razorpay order ids (from payment webhooks) to bookings in one query.
+    List<Booking> findByRazorpayOrderIdIn(Collection<String> razorpayOrderIds);
+
+    // Justification: Version of a customer's booking list (row count and latest update), used for the
+    // ETag of /my-bookings. Deletions change the count, edits change the timestamp.
+    @Query("select new com.example.online_car_service_station_backend.dto.VersionStamp(count(b), max(b.updatedAt)) " +
+            "from Booking b join b.customer c join c.user u where u.username = :username")
+    VersionStamp findVersionStampByUsername(@Param("username") String username);
+
+    // Justification: One SELECT that joins bookings to their customer and user and returns flat rows.
+    // Constructor expressions do not create managed entities, so the EAGER User.roles collection
+    // and the one-to-one profiles are never triggered.
+    @Query("select new com.example.online_car_service_station_backend.dto.BookingSummary(" +
+            "b.id, c.id, u.username, c.firstName, c.lastName, b.bookingDateTime, b.status, " +
+            "b.paymentStatus, b.totalAmount, b.rating, b.comment) " +
+            "from Booking b join b.customer c join c.user u " +
+            "order by b.bookingDateTime desc, b.id desc")
+    List<BookingSummary> findAllSummaries();
+
+    // Justification: One SELECT for every booked service line, joined to its catalog entry.
+    // Together with findAllSummaries this loads the admin bookings screen in two round trips.
+    @Query("select new com.example.online_car_service_station_backend.dto.BookedServiceSummary(" +
+            "bs.booking.id, cs.id, cs.name, cs.description, bs.priceAtBooking, cs.imageUrl) " +
+            "from BookedService bs join bs.carService cs " +
+            "order by bs.booking.id, bs.id")
+    List<BookedServiceSummary> findAllBookedServiceSummaries();
+
+    // Justification: Loads the booked service lines for one page of bookings in a single SELECT.
+    @Query("select new com.example.online_car_service_station_backend.dto.BookedServiceSummary(" +
+            "bs.booking.id, cs.id, cs.name, cs.description, bs.priceAtBooking, cs.imageUrl) " +
+            "from BookedService bs join bs.carService cs " +
+            "where bs.booking.id in :bookingIds " +
+            "order by bs.booking.id, bs.id")
+    List<BookedServiceSummary> findBookedServiceSummariesByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Justification: Booking count and amount per status for the stats page, computed in MySQL from the
+    // covering idx_bookings_stats index. Revenue figures come from the daily rollups instead.
+    @Query("select new com.example.online_car_service_station_backend.dto.StatsBucket(" +
+            "b.status, sum(b.totalAmount), count(b)) " +
+            "from Booking b where b.bookingDateTime >= :from and b.bookingDateTime < :to " +
+            "group by b.status")
+    List<StatsBucket> sumBookingsByStatus(@Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+}
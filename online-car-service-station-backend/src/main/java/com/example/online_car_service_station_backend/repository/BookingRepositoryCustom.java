@@ -0,0 +1,26 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.dto.BookingExportLine;
+import com.example.online_car_service_station_backend.dto.BookingSummary;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Justification: Custom fragment of BookingRepository for queries whose shape depends on the arguments.
+public interface BookingRepositoryCustom {
+
+    // Keyset (seek) page over (bookingDateTime, id) descending. Instead of an OFFSET, the previous page's last
+    // row is passed in as the cursor, so page N costs the same as page 1. Every filter is optional; a null
+    // argument leaves its predicate out of the query.
+    List<BookingSummary> findSummariesPage(BookingStatus status, PaymentStatus paymentStatus, Long customerId,
+                                           LocalDateTime from, LocalDateTime to,
+                                           LocalDateTime cursorDateTime, Long cursorId, int limit);
+
+    // Forward-only stream for the bookings export: bookings joined to their service lines, newest first, with
+    // the same optional filters as findSummariesPage. See BookingExportQuery for how it must be consumed.
+    Stream<BookingExportLine> streamExportLines(BookingStatus status, PaymentStatus paymentStatus,
+                                                LocalDateTime from, LocalDateTime to);
+}
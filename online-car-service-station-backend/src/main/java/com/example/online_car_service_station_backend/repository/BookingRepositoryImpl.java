@@ -0,0 +1,35 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.dto.BookingExportLine;
+import com.example.online_car_service_station_backend.dto.BookingSummary;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingSummary> findSummariesPage(BookingStatus status, PaymentStatus paymentStatus, Long customerId,
+                                                  LocalDateTime from, LocalDateTime to,
+                                                  LocalDateTime cursorDateTime, Long cursorId, int limit) {
+        return BookingSummaryPageQuery.find(entityManager, "from Booking b join b.customer c join c.user u", "c.id",
+                status, paymentStatus, customerId, from, to, cursorDateTime, cursorId, limit);
+    }
+
+    @Override
+    public Stream<BookingExportLine> streamExportLines(BookingStatus status, PaymentStatus paymentStatus,
+                                                       LocalDateTime from, LocalDateTime to) {
+        return BookingExportQuery.stream(entityManager,
+                "from Booking b join b.customer c join c.user u " +
+                        "left join b.bookingServices l left join l.carService cs",
+                status, paymentStatus, from, to);
+    }
+}
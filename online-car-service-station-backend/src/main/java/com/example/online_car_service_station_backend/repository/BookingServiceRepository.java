@@ -0,0 +1,12 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.model.BookedService;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+// Justification: Provides CRUD operations for the BookedService join entity, which stores
+// the services attached to a booking together with the price agreed at booking time.
+// Batched inserts for new bookings come from BookingServiceRepositoryCustom.
+@Repository
+public interface BookingServiceRepository extends JpaRepository<BookedService, Long>, BookingServiceRepositoryCustom {
+}
@@ -0,0 +1,14 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.model.CarService;
+
+import java.util.List;
+
+// Justification: Custom fragment of BookingServiceRepository for writes that Spring Data cannot express
+// as derived or @Query methods.
+public interface BookingServiceRepositoryCustom {
+
+    // Inserts one booking_services row per service, priced at the service's current price, in a single
+    // JDBC batch.
+    void insertAllForBooking(Long bookingId, List<CarService> carServices);
+}
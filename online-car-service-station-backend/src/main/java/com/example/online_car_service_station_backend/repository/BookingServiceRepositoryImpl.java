@@ -0,0 +1,33 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.model.CarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Justification: BookedService uses IDENTITY ids, which stops Hibernate from batching its inserts (every
+// persist has to run immediately to read the generated key). The service lines of a new booking are never
+// read back through the persistence context, so they are written with a plain JDBC batch instead. It runs
+// on the connection of the surrounding JPA transaction, and with rewriteBatchedStatements=true the MySQL
+// driver sends it as a single multi-row INSERT.
+public class BookingServiceRepositoryImpl implements BookingServiceRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "insert into booking_services (booking_id, car_service_id, price_at_booking, quantity) values (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAllForBooking(Long bookingId, List<CarService> carServices) {
+        if (carServices.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = carServices.stream()
+                .map(carService -> new Object[]{bookingId, carService.getId(), carService.getPrice(), 1})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.model.BookingSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Justification: Data access for the slot capacity counters. Reservation is a compare-and-increment done by
+// the database ("reserved < capacity" in the WHERE clause), which only locks the rows of the slots being
+// booked. Bookings for different slots therefore never wait on each other, and there is no global lock.
+@Repository
+public interface BookingSlotRepository extends JpaRepository<BookingSlot, Long> {
+
+    // Justification: Source for rebuilding the in-memory AvailabilityIndex.
+    List<BookingSlot> findBySlotStartGreaterThanEqualAndReservedGreaterThan(LocalDateTime from, int reserved);
+
+    // Justification: Creates the counter row for a slot if it does not exist yet; a no-op otherwise.
+    @Modifying
+    @Query(value = "insert into booking_slots (slot_start, reserved) values (:slotStart, 0) " +
+            "on duplicate key update slot_start = slot_start", nativeQuery = true)
+    void ensureSlot(@Param("slotStart") LocalDateTime slotStart);
+
+    // Justification: Takes one bay in every listed slot that still has room and returns how many slots
+    // were incremented. A result smaller than the number of slots means at least one was full, and the
+    // caller must roll the transaction back.
+    @Modifying
+    @Query(value = "update booking_slots set reserved = reserved + 1 " +
+            "where slot_start in (:slotStarts) and reserved < :capacity", nativeQuery = true)
+    int tryReserve(@Param("slotStarts") List<LocalDateTime> slotStarts, @Param("capacity") int capacity);
+
+    @Modifying
+    @Query(value = "update booking_slots set reserved = reserved - 1 " +
+            "where slot_start in (:slotStarts) and reserved > 0", nativeQuery = true)
+    int release(@Param("slotStarts") List<LocalDateTime> slotStarts);
+}
@@ -0,0 +1,74 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.dto.BookingSummary;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Justification: Builds the keyset page query shared by the live and archived bookings. Only the filters that
+// are actually set become predicates, and the cursor is one row-value comparison, (booking_date_time, id) <
+// (?, ?), so MySQL sees a plain equality prefix plus a range on the composite index and seeks straight to the
+// cursor. Catch-all "(:x is null or ...)" predicates and an OR-expanded cursor would keep it from doing that.
+final class BookingSummaryPageQuery {
+
+    private static final String SELECT = "select new com.example.online_car_service_station_backend.dto.BookingSummary(" +
+            "b.id, c.id, u.username, c.firstName, c.lastName, b.bookingDateTime, b.status, " +
+            "b.paymentStatus, b.totalAmount, b.rating, b.comment) ";
+
+    private BookingSummaryPageQuery() {
+    }
+
+    // 'from' must alias the booking as b, its customer as c and the customer's user as u; 'customerIdPath'
+    // is the expression holding the booking's customer id.
+    static List<BookingSummary> find(EntityManager entityManager, String from, String customerIdPath,
+                                     BookingStatus status, PaymentStatus paymentStatus, Long customerId,
+                                     LocalDateTime fromDateTime, LocalDateTime toDateTime,
+                                     LocalDateTime cursorDateTime, Long cursorId, int limit) {
+        StringBuilder jpql = new StringBuilder(SELECT).append(from);
+        Map<String, Object> parameters = filters(jpql, customerIdPath, status, paymentStatus, customerId, fromDateTime, toDateTime);
+        if (cursorDateTime != null && cursorId != null) {
+            where(jpql, parameters, "(b.bookingDateTime, b.id) < (:cursorDateTime, :cursorId)", "cursorDateTime", cursorDateTime);
+            parameters.put("cursorId", cursorId);
+        }
+        jpql.append(" order by b.bookingDateTime desc, b.id desc");
+
+        TypedQuery<BookingSummary> query = entityManager.createQuery(jpql.toString(), BookingSummary.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    // Justification: Appends a where clause with one predicate per filter that is set, and returns the
+    // parameters to bind. Also used by BookingExportQuery, so the page and the export filter alike.
+    static Map<String, Object> filters(StringBuilder jpql, String customerIdPath, BookingStatus status,
+                                       PaymentStatus paymentStatus, Long customerId,
+                                       LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (status != null) {
+            where(jpql, parameters, "b.status = :status", "status", status);
+        }
+        if (paymentStatus != null) {
+            where(jpql, parameters, "b.paymentStatus = :paymentStatus", "paymentStatus", paymentStatus);
+        }
+        if (customerId != null) {
+            where(jpql, parameters, customerIdPath + " = :customerId", "customerId", customerId);
+        }
+        if (fromDateTime != null) {
+            where(jpql, parameters, "b.bookingDateTime >= :from", "from", fromDateTime);
+        }
+        if (toDateTime != null) {
+            where(jpql, parameters, "b.bookingDateTime < :to", "to", toDateTime);
+        }
+        return parameters;
+    }
+
+    private static void where(StringBuilder jpql, Map<String, Object> parameters, String predicate, String name, Object value) {
+        jpql.append(parameters.isEmpty() ? " where " : " and ").append(predicate);
+        parameters.put(name, value);
+    }
+}
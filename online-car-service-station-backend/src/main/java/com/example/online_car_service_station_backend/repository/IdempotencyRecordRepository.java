@@ -0,0 +1,42 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByScopeAndOwnerNameAndIdempotencyKey(String scope, String ownerName, String idempotencyKey);
+
+    @Modifying
+    @Query("update IdempotencyRecord r set r.responseBody = :responseBody where r.id = :id and r.claimedAt = :claimedAt")
+    int complete(@Param("id") Long id, @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("responseBody") String responseBody);
+
+    // Justification: Re-claims an unfinished key whose lease ran out. The conditions are checked in the
+    // UPDATE itself, so of two retries racing for the same abandoned claim only one gets a row count of 1.
+    @Modifying
+    @Query("update IdempotencyRecord r set r.claimedAt = :claimedAt where r.id = :id and r.responseBody is null " +
+            "and (r.claimedAt is null or r.claimedAt < :leaseExpiredBefore)")
+    int takeOver(@Param("id") Long id, @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("leaseExpiredBefore") LocalDateTime leaseExpiredBefore);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.claimedAt = :claimedAt")
+    int release(@Param("id") Long id, @Param("claimedAt") LocalDateTime claimedAt);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id = :id")
+    void deleteClaim(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
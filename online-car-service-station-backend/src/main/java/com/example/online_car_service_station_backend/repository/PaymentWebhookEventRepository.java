@@ -0,0 +1,51 @@
+package com.example.online_car_service_station_backend.repository;
+
+import com.example.online_car_service_station_backend.model.PaymentWebhookEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+    // Justification: Enqueue with de-duplication by payment id in one statement. Returns 1 for a new event
+    // and 0 when the payment is already queued or processed. INSERT IGNORE rather than a no-op ON DUPLICATE
+    // KEY UPDATE: Connector/J runs with useAffectedRows=false (found rows), so the no-op update would also
+    // report 1 and a duplicate could not be told apart.
+    @Modifying
+    @Query(value = "insert ignore into payment_webhook_events " +
+            "(payment_id, order_id, event_type, status, attempts, received_at, available_at) " +
+            "values (:paymentId, :orderId, :eventType, 'NEW', 0, :receivedAt, :receivedAt)", nativeQuery = true)
+    int enqueue(@Param("paymentId") String paymentId,
+                @Param("orderId") String orderId,
+                @Param("eventType") String eventType,
+                @Param("receivedAt") LocalDateTime receivedAt);
+
+    // Justification: Ids of the next events that are due, oldest first. Read without locks; each event is
+    // then claimed on its own with claim().
+    @Query(value = "select id from payment_webhook_events where status = 'NEW' and available_at <= :now " +
+            "order by id limit :batchSize", nativeQuery = true)
+    List<Long> findDueIds(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    // Justification: Claims one due event for the current transaction. A lock timeout of -2 is Hibernate's
+    // SKIP LOCKED (as in OutboxEventRepository), which lets several workers, on this node or on others, drain
+    // the queue in parallel without ever taking the same row; an event that another worker holds or has
+    // already finished comes back empty. On databases without SKIP LOCKED (H2 in the tests) the claim waits
+    // for the other worker instead and then finds the event no longer NEW.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from PaymentWebhookEvent e where e.id = :id " +
+            "and e.status = com.example.online_car_service_station_backend.model.WebhookEventStatus.NEW " +
+            "and e.availableAt <= :now")
+    Optional<PaymentWebhookEvent> claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -2,8 +2,11 @@ package com.example.online_car_service_station_backend.repository;
 
 import com.example.online_car_service_station_backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 // Justification: Similar to RoleRepository, JpaRepository provides CRUD operations for User.
@@ -21,4 +24,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Justification: Used during user registration to check if an email already exists,
     // as emails are typically unique per user.
     Boolean existsByEmail(String email);
+
+    // Justification: Reads only the last-modified timestamp, so /api/users/me can answer a conditional
+    // request without loading the user, its roles and its profile.
+    @Query("select u.updatedAt from User u where u.username = :username")
+    Optional<LocalDateTime> findUpdatedAtByUsername(@Param("username") String username);
+
+    // Justification: The token version alone, checked by TokenVersionCache on a cache miss. Empty when the
+    // user no longer exists.
+    @Query("select coalesce(u.tokenVersion, 0) from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
 }
\ No newline at end of file
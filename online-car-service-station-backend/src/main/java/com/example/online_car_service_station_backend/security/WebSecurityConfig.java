@@ -3,11 +3,14 @@ package com.example.online_car_service_station_backend.security;
 import com.example.online_car_service_station_backend.security.jwt.AuthEntryPointJwt;
 import com.example.online_car_service_station_backend.security.jwt.AuthTokenFilter;
 import com.example.online_car_service_station_backend.security.services.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -37,6 +40,11 @@ public class WebSecurityConfig {
     @Autowired // <--- Autowire the single PasswordEncoder bean here
     private PasswordEncoder passwordEncoder;
 
+    // Justification: Prometheus cannot log in with a JWT. When the management port is only reachable from the
+    // monitoring network, this lets it scrape /actuator/prometheus anonymously.
+    @Value("${app.metrics.public-scrape:false}")
+    private boolean publicMetricsScrape;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -83,12 +91,23 @@ public class WebSecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Justification: Streamed responses (the bookings export) finish with an ASYNC dispatch. That
+                        // request was already authorized on its original dispatch and carries no JWT filter run.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Justification: Razorpay webhooks carry no JWT; they are authenticated by their HMAC signature.
+                        .requestMatchers(HttpMethod.POST, "/api/payments/webhook").permitAll()
                         // Justification: CRITICAL FIX. The GET request to /api/services is now public.
                         // We use a separate rule for GET and a second rule for the protected methods.
                         .requestMatchers(HttpMethod.GET, "/api/services/**").permitAll()
                         .requestMatchers("/api/services/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Justification: Liveness/readiness probes are anonymous; metrics and other actuator data are admin-only.
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/prometheus").access((authentication, context) ->
+                                new AuthorizationDecision(publicMetricsScrape || authentication.get().getAuthorities().stream()
+                                        .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"))))
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/customer/**").hasRole("CUSTOMER")
                         .anyRequest().authenticated()
                 );
@@ -1,6 +1,9 @@
 package com.example.online_car_service_station_backend.security.jwt;
 
+import com.example.online_car_service_station_backend.security.services.TokenVersionCache;
+import com.example.online_car_service_station_backend.security.services.UserDetailsImpl;
 import com.example.online_car_service_station_backend.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +19,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 // Justification: This custom filter extends OncePerRequestFilter, ensuring it runs only once per HTTP request.
 // Its role is to intercept every incoming request, extract the JWT from the Authorization header,
@@ -29,6 +33,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     // Justification: This is the core logic of the filter. It's executed for every incoming request.
@@ -39,12 +46,10 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             // 1. Extract JWT from the Authorization header (Bearer token)
             String jwt = parseJwt(request);
 
-            // 2. If JWT exists and is valid, authenticate the user
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                // Load user details from our custom UserDetailsService
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // 2. If JWT exists and is valid, authenticate the user. The token is parsed exactly once.
+            Claims claims = jwt != null ? jwtUtils.parseClaims(jwt) : null;
+            UserDetails userDetails = claims != null ? resolvePrincipal(claims) : null;
+            if (userDetails != null) {
 
                 // Create an authentication token for the user
                 UsernamePasswordAuthenticationToken authentication =
@@ -69,6 +74,32 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Justification: Tokens issued by JwtUtils carry the user id, email, roles and token version, so the
+    // principal is built from the verified claims; the only lookup is the user's current token version,
+    // which TokenVersionCache usually answers from memory. A token whose version is no longer current
+    // (credentials changed, tokens revoked, user deleted) is ignored and the request stays anonymous.
+    // Older tokens without those claims count as version 0 and are resolved from the database each time.
+    private UserDetails resolvePrincipal(Claims claims) {
+        String username = claims.getSubject();
+        Object userId = claims.get(JwtUtils.CLAIM_USER_ID);
+        Object roles = claims.get(JwtUtils.CLAIM_ROLES);
+        if (userId instanceof Number && roles instanceof List<?> roleList) {
+            Object version = claims.get(JwtUtils.CLAIM_TOKEN_VERSION);
+            int tokenVersion = version instanceof Number ? ((Number) version).intValue() : 0;
+            if (!tokenVersionCache.isCurrent(((Number) userId).longValue(), tokenVersion)) {
+                logger.warn("Rejected revoked JWT for user {}", username);
+                return null;
+            }
+            return UserDetailsImpl.fromTokenClaims(
+                    ((Number) userId).longValue(),
+                    username,
+                    claims.get(JwtUtils.CLAIM_EMAIL, String.class),
+                    roleList.stream().map(String::valueOf).toList());
+        }
+        UserDetailsImpl legacy = (UserDetailsImpl) userDetailsService.loadUserByUsername(username);
+        return tokenVersionCache.isCurrent(legacy.getId(), 0) ? legacy : null;
+    }
+
     // Justification: Helper method to extract the JWT from the Authorization header.
     // It checks for the "Bearer " prefix.
     private String parseJwt(HttpServletRequest request) {
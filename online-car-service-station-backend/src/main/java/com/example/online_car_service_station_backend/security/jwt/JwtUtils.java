@@ -4,14 +4,18 @@ import com.example.online_car_service_station_backend.security.services.UserDeta
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 // Justification: This utility class is responsible for generating JWT tokens (after successful authentication)
 // and validating incoming JWT tokens from client requests. It encapsulates JWT-specific logic.
@@ -19,6 +23,14 @@ import java.util.Date;
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    // Justification: Claim names embedded next to the subject so a token carries everything the
+    // AuthTokenFilter needs to build the principal without a database lookup.
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLES = "roles";
+    // Justification: The user's token version at issue time; see TokenVersionCache.
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
     // Justification: @Value injects properties from application.properties.
     // jwtSecret is the secret key used for signing and verifying JWTs. It must be kept secure.
     // jwtExpirationMs defines the token's validity duration in milliseconds.
@@ -28,10 +40,16 @@ public class JwtUtils {
     @Value("${app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
-    // Justification: Helper method to generate a signing key from the secret string.
-    // Keys.hmacShaKeyFor is recommended for HMAC-SHA algorithms as it ensures strong keys.
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    // Justification: The signing key and the parser are immutable and thread-safe, so they are built
+    // once at startup instead of base64-decoding the secret and creating a new parser on every call.
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        // Keys.hmacShaKeyFor is recommended for HMAC-SHA algorithms as it ensures strong keys.
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
     // Justification: Generates a JWT token after a user successfully authenticates.
@@ -39,26 +57,39 @@ public class JwtUtils {
     public String generateJwtToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
 
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername())) // User's username as the subject
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion())
                 .setIssuedAt(new Date()) // Token creation time
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs)) // Token expiration time
-                .signWith(key(), SignatureAlgorithm.HS256) // Sign the token with our secret key and algorithm
+                .signWith(signingKey, SignatureAlgorithm.HS256) // Sign the token with our secret key and algorithm
                 .compact(); // Builds the JWT string
     }
 
     // Justification: Extracts the username (subject) from a given JWT token.
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
     }
 
     // Justification: Validates a given JWT token. It checks for various issues like
     // incorrect signature, expiration, malformation, or empty claims.
     public boolean validateJwtToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    // Justification: Single-parse validation path used by AuthTokenFilter. The token's signature and
+    // expiry are verified once and the resulting claims (subject, user id, roles) are returned for
+    // reuse; null means the token is invalid and the reason has been logged.
+    public Claims parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (io.jsonwebtoken.security.SecurityException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -71,6 +102,6 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
     }
 }
\ No newline at end of file
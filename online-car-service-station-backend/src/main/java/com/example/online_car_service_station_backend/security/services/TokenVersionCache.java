@@ -0,0 +1,106 @@
+package com.example.online_car_service_station_backend.security.services;
+
+import com.example.online_car_service_station_backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Justification: Bounded, time-limited cache of each user's current token version, keyed by user id.
+// Tokens carry the version they were issued with (JwtUtils.CLAIM_TOKEN_VERSION) and AuthTokenFilter only
+// accepts a token whose version is still current, so bumping users.token_version revokes every token of
+// that user, and deleting the user revokes them too. A cache hit costs no database access; a miss is one
+// primary-key lookup. UserService evicts a user after bumping the version, so the change is immediate
+// on this node and takes at most the TTL to reach the others.
+@Component
+public class TokenVersionCache {
+
+    // Justification: Cached for users that no longer exist, so a revoked token cannot hammer the database.
+    private static final int NO_USER = -1;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public TokenVersionCache(@Value("${app.security.token-version-cache.ttl-seconds:30}") long ttlSeconds,
+                             @Value("${app.security.token-version-cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion == currentVersion(userId);
+    }
+
+    // Justification: Called after a user's token version is bumped. Inside a transaction the eviction
+    // happens after commit so a concurrent request cannot re-cache the old version in between.
+    public void evict(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(userId);
+                }
+            });
+        } else {
+            entries.remove(userId);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private int currentVersion(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.version;
+        }
+        int loaded = userRepository.findTokenVersionById(userId).orElse(NO_USER);
+        if (entries.size() >= maxSize) {
+            evictExpiredOrOldest(now);
+        }
+        entries.put(userId, new Entry(loaded, now + ttlMillis));
+        return loaded;
+    }
+
+    // Justification: Drops expired entries first; if the cache is still full, drops the entry closest to
+    // expiry (the oldest one). This is a linear scan, but it only runs when the cache is at capacity.
+    private void evictExpiredOrOldest(long now) {
+        Long oldestKey = null;
+        long oldestExpiry = Long.MAX_VALUE;
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Entry> candidate = iterator.next();
+            long expiresAt = candidate.getValue().expiresAt;
+            if (expiresAt <= now) {
+                iterator.remove();
+            } else if (expiresAt < oldestExpiry) {
+                oldestExpiry = expiresAt;
+                oldestKey = candidate.getKey();
+            }
+        }
+        if (entries.size() >= maxSize && oldestKey != null) {
+            entries.remove(oldestKey);
+        }
+    }
+
+    private static final class Entry {
+        final int version;
+        final long expiresAt;
+
+        Entry(int version, long expiresAt) {
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -29,6 +29,9 @@ public class UserDetailsImpl implements UserDetails {
     private String username;
     private String email;
 
+    // Justification: The user's token version at login; JwtUtils writes it into the token.
+    private int tokenVersion;
+
     // Justification: @JsonIgnore prevents the password from being serialized into the JWT or
     // sent in any JSON responses, enhancing security.
     @JsonIgnore
@@ -56,12 +59,24 @@ public class UserDetailsImpl implements UserDetails {
                 .map(role -> new SimpleGrantedAuthority(role.getName().name())) // Convert ERole to String name
                 .collect(Collectors.toList());
 
-        return new UserDetailsImpl(
+        UserDetailsImpl details = new UserDetailsImpl(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
                 authorities);
+        details.tokenVersion = user.getTokenVersion() != null ? user.getTokenVersion() : 0;
+        return details;
+    }
+
+    // Justification: Builds a principal from verified JWT claims, without touching the database.
+    // The password is unknown (and not needed) for token-authenticated requests.
+    public static UserDetailsImpl fromTokenClaims(Long id, String username, String email, List<String> roles) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        return new UserDetailsImpl(id, username, email, null, authorities);
     }
 
     // Justification: These methods are part of the UserDetails contract.
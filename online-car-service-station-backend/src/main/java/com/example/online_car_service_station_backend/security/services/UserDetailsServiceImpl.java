@@ -1,7 +1,9 @@
 package com.example.online_car_service_station_backend.security.services;
 
+import com.example.online_car_service_station_backend.config.MetricsConfig;
 import com.example.online_car_service_station_backend.model.User;
 import com.example.online_car_service_station_backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -24,6 +26,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     // @Transactional(readOnly = true) is applied for performance, as this operation only reads data.
     @Override
     @Transactional(readOnly = true)
+    @Timed(value = MetricsConfig.SERVICE_METHOD_TIMER, histogram = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // Justification: Retrieves the User entity from the database using the username.
         // If the user is not found, a UsernameNotFoundException is thrown, which Spring Security handles.
@@ -0,0 +1,169 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.config.ReadYourWritesTracker;
+import com.example.online_car_service_station_backend.dto.AvailableSlot;
+import com.example.online_car_service_station_backend.model.BookingSlot;
+import com.example.online_car_service_station_backend.repository.BookingSlotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Justification: In-memory mirror of the booking_slots counters used to answer "next free slot" queries
+// without touching the database. There is one int array per day with the reserved bay count of every slot
+// in opening hours; days with no entry are completely free, and past days are dropped. SlotCapacityService
+// applies each reservation and release here after its transaction commits, and the index is rebuilt from
+// booking_slots on startup. The slot grid (bays, slot length, opening hours) is SlotGrid, the same one
+// SlotCapacityService validates reservations against.
+//
+// The index is advisory: it may trail a commit by a moment or miss reservations made by another instance.
+// The database counters stay authoritative, so a slot that looks free here can still be refused when
+// booked, but it can never be overbooked.
+@Component
+public class AvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    @Autowired
+    private BookingSlotRepository slotRepository;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private SlotGrid slotGrid;
+
+    // How many days ahead the free-slot search looks before giving up.
+    @Value("${app.booking.availability-horizon-days:60}")
+    private int horizonDays;
+
+    private volatile Map<LocalDate, AtomicIntegerArray> reservedByDay = new ConcurrentHashMap<>();
+    private volatile LocalDate evictedBefore = LocalDate.MIN;
+
+    // Justification: Deltas that arrive while a rebuild is reading booking_slots, replayed on the new snapshot.
+    // Null when no rebuild is running. Guarded by 'this', like the swap itself.
+    private List<Map.Entry<LocalDateTime, Integer>> deltasDuringRebuild;
+
+    // Justification: The snapshot is built off to the side and swapped in, so searches keep using the old
+    // one meanwhile. Deltas applied during the read go to the live map and are also replayed on the new
+    // snapshot before the swap. A delta whose transaction committed just before the read may be counted
+    // twice; the index is advisory, and the next rebuild corrects it.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            deltasDuringRebuild = new ArrayList<>();
+        }
+        Map<LocalDate, AtomicIntegerArray> snapshot = new ConcurrentHashMap<>();
+        List<BookingSlot> slots;
+        try {
+            LocalDateTime today = LocalDate.now().atStartOfDay();
+            slots = readYourWritesTracker.onPrimary(
+                    () -> slotRepository.findBySlotStartGreaterThanEqualAndReservedGreaterThan(today, 0));
+            for (BookingSlot slot : slots) {
+                add(snapshot, slot.getSlotStart(), slot.getReserved());
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                deltasDuringRebuild = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            deltasDuringRebuild.forEach(delta -> add(snapshot, delta.getKey(), delta.getValue()));
+            reservedByDay = snapshot;
+            deltasDuringRebuild = null;
+        }
+        logger.info("Availability index rebuilt from {} booked slots.", slots.size());
+    }
+
+    // Justification: Applied once the reservation is durable; a rolled-back booking never shows up here.
+    public void applyAfterCommit(List<LocalDateTime> slotStarts, int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(slotStarts, delta);
+                }
+            });
+        } else {
+            apply(slotStarts, delta);
+        }
+    }
+
+    // Justification: Scans slot by slot from 'from' and returns the first 'limit' start times at which
+    // 'slotCount' consecutive slots all have a free bay. Cost is proportional to the slots scanned
+    // (a few hundred integer reads per week), independent of the number of bookings.
+    public List<AvailableSlot> nextFreeSlots(LocalDateTime from, int slotCount, int limit) {
+        List<AvailableSlot> result = new ArrayList<>(limit);
+        int slotsPerDay = slotGrid.slotsPerDay();
+        int bays = slotGrid.getBays();
+        if (slotCount > slotsPerDay || limit <= 0) {
+            return result;
+        }
+        LocalDate day = from.toLocalDate();
+        LocalDate lastDay = day.plusDays(horizonDays);
+        while (!day.isAfter(lastDay) && result.size() < limit) {
+            AtomicIntegerArray reserved = reservedByDay.get(day);
+            for (int index = 0; index + slotCount <= slotsPerDay && result.size() < limit; index++) {
+                LocalDateTime start = slotGrid.startOf(day, index);
+                if (start.isBefore(from)) {
+                    continue;
+                }
+                int freeBays = bays;
+                for (int offset = 0; offset < slotCount && freeBays > 0; offset++) {
+                    int taken = reserved != null ? reserved.get(index + offset) : 0;
+                    freeBays = Math.min(freeBays, bays - taken);
+                }
+                if (freeBays > 0) {
+                    result.add(new AvailableSlot(start, start.plusMinutes((long) slotCount * slotGrid.getSlotMinutes()), freeBays));
+                }
+            }
+            day = day.plusDays(1);
+        }
+        return result;
+    }
+
+    private synchronized void apply(List<LocalDateTime> slotStarts, int delta) {
+        for (LocalDateTime slotStart : slotStarts) {
+            add(reservedByDay, slotStart, delta);
+            if (deltasDuringRebuild != null) {
+                deltasDuringRebuild.add(Map.entry(slotStart, delta));
+            }
+        }
+    }
+
+    private void add(Map<LocalDate, AtomicIntegerArray> target, LocalDateTime slotStart, int delta) {
+        LocalDate today = LocalDate.now();
+        evictBefore(today);
+        int index = slotGrid.indexOf(slotStart.toLocalTime());
+        if (index < 0 || slotStart.toLocalDate().isBefore(today)) {
+            return;
+        }
+        target.computeIfAbsent(slotStart.toLocalDate(), key -> new AtomicIntegerArray(slotGrid.slotsPerDay()))
+                .addAndGet(index, delta);
+    }
+
+    // Justification: Past days can no longer be booked, so their arrays are dropped on the first write of
+    // each day; otherwise the map would keep one array per day for the lifetime of the process.
+    private void evictBefore(LocalDate today) {
+        if (!today.isAfter(evictedBefore)) {
+            return;
+        }
+        evictedBefore = today;
+        reservedByDay.keySet().removeIf(day -> day.isBefore(today));
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.repository.ArchivedBookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Justification: Nightly job that keeps the hot bookings and booking_services tables small. Bookings that are
+// COMPLETED and PAID, and whose booking time is older than the horizon, can no longer change, so they are copied
+// to bookings_archive / booking_services_archive and deleted from the hot tables.
+//
+// Work is done in bounded batches, each in its own short transaction (lock ids, copy, delete), so the job never
+// holds many row locks or produces one huge binlog event. A run stops after maxBatchesPerRun batches and
+// continues the next night. Revenue rollups are not touched: archived bookings stay in the revenue history.
+@Service
+public class BookingArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingArchiveService.class);
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.horizon-days:365}")
+    private int horizonDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.archive.pause-between-batches-ms:100}")
+    private long pauseBetweenBatchesMs;
+
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public BookingArchiveService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveOldBookings();
+        } catch (RuntimeException e) {
+            logger.warn("Booking archival failed, will retry next run: {}", e.getMessage());
+        }
+    }
+
+    // Justification: Also callable by an admin. Only one run at a time per instance; other nodes are kept
+    // apart by SKIP LOCKED. Returns the number of bookings archived.
+    public int archiveOldBookings() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Booking archival is already running.");
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(horizonDays);
+            int total = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int archived = archiveBatch(cutoff);
+                total += archived;
+                if (archived < batchSize) {
+                    break;
+                }
+                pause();
+            }
+            logger.info("Archived {} bookings older than {}.", total, cutoff);
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public int archiveBatch(LocalDateTime cutoff) {
+        Integer archived = transactionTemplate.execute(status -> {
+            List<Long> ids = archivedBookingRepository.lockArchivableIds(cutoff, batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            int copied = archivedBookingRepository.copyBookings(ids, LocalDateTime.now());
+            if (copied != ids.size()) {
+                throw new RuntimeException("Archived " + copied + " of " + ids.size() + " locked bookings; batch rolled back.");
+            }
+            archivedBookingRepository.copyBookedServices(ids);
+            archivedBookingRepository.deleteBookedServices(ids);
+            archivedBookingRepository.deleteBookings(ids);
+            return ids.size();
+        });
+        return archived != null ? archived : 0;
+    }
+
+    private void pause() {
+        if (pauseBetweenBatchesMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseBetweenBatchesMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Booking archival interrupted.");
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.dto.BookingExportLine;
+import com.example.online_car_service_station_backend.dto.BookingExportRow;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import com.example.online_car_service_station_backend.repository.ArchivedBookingRepository;
+import com.example.online_car_service_station_backend.repository.BookingRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Justification: Writes the bookings export straight from a streaming MySQL cursor to the HTTP response.
+// Rows are folded per booking and written as they arrive, so memory use does not depend on how many
+// bookings match; finance can pull years of data without the List<BookingResponse> of GET /api/bookings.
+@Service
+public class BookingExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingExportService.class);
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+    private static final String CSV_HEADER = "booking_id,booking_date_time,customer_id,customer_username,"
+            + "customer_first_name,customer_last_name,status,payment_status,total_amount,rating,comment,services";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    private final ObjectWriter ndjsonWriter;
+
+    // Justification: The writer must neither close the response stream after a row nor flush it per row;
+    // flushing is batched below.
+    public BookingExportService(ObjectMapper objectMapper) {
+        this.ndjsonWriter = objectMapper.writerFor(BookingExportRow.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Justification: Read-only transaction spanning the whole export, as the repository stream needs an open
+    // connection until it is closed. The output is flushed every FLUSH_EVERY_ROWS bookings so the client
+    // starts receiving data immediately. With includeArchived, matching archived bookings follow the live ones
+    // (newest first within each part); the two streams are read one after the other on the same connection.
+    // Returns the number of bookings written.
+    @Transactional(readOnly = true)
+    public long export(Format format, BookingStatus status, PaymentStatus paymentStatus,
+                       LocalDateTime from, LocalDateTime to, boolean includeArchived, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long rows;
+        try (Stream<BookingExportLine> lines = bookingRepository.streamExportLines(status, paymentStatus, from, to)) {
+            rows = writeRows(format, lines, writer, 0);
+        }
+        if (includeArchived) {
+            try (Stream<BookingExportLine> lines = archivedBookingRepository.streamExportLines(status, paymentStatus, from, to)) {
+                rows = writeRows(format, lines, writer, rows);
+            }
+        }
+        writer.flush();
+        logger.info("Exported {} bookings as {}.", rows, format);
+        return rows;
+    }
+
+    // Justification: Folds consecutive lines of the same booking into one row and writes it; returns the running count.
+    private long writeRows(Format format, Stream<BookingExportLine> lines, Writer writer, long rows) throws IOException {
+        Iterator<BookingExportLine> iterator = lines.iterator();
+        BookingExportRow current = null;
+        while (iterator.hasNext()) {
+            BookingExportLine line = iterator.next();
+            if (current == null || !current.getBookingId().equals(line.getBookingId())) {
+                if (current != null) {
+                    writeRow(format, current, writer);
+                    if (++rows % FLUSH_EVERY_ROWS == 0) {
+                        writer.flush();
+                    }
+                }
+                current = toRow(line);
+            }
+            if (line.getServiceName() != null) {
+                current.getServices().add(line.getServiceName());
+            }
+        }
+        if (current != null) {
+            writeRow(format, current, writer);
+            rows++;
+        }
+        return rows;
+    }
+
+    private void writeRow(Format format, BookingExportRow row, Writer writer) throws IOException {
+        if (format == Format.NDJSON) {
+            ndjsonWriter.writeValue(writer, row);
+            writer.write('\n');
+            return;
+        }
+        writer.write(String.valueOf(row.getBookingId()));
+        writer.write(',');
+        writer.write(csv(row.getBookingDateTime()));
+        writer.write(',');
+        writer.write(csv(row.getCustomerId()));
+        writer.write(',');
+        writer.write(csv(row.getCustomerUsername()));
+        writer.write(',');
+        writer.write(csv(row.getCustomerFirstName()));
+        writer.write(',');
+        writer.write(csv(row.getCustomerLastName()));
+        writer.write(',');
+        writer.write(csv(row.getStatus()));
+        writer.write(',');
+        writer.write(csv(row.getPaymentStatus()));
+        writer.write(',');
+        writer.write(csv(row.getTotalAmount()));
+        writer.write(',');
+        writer.write(csv(row.getRating()));
+        writer.write(',');
+        writer.write(csv(row.getComment()));
+        writer.write(',');
+        writer.write(csv(String.join("; ", row.getServices())));
+        writer.write('\n');
+    }
+
+    private static BookingExportRow toRow(BookingExportLine line) {
+        return new BookingExportRow(line.getBookingId(), line.getBookingDateTime(), line.getCustomerId(),
+                line.getCustomerUsername(), line.getCustomerFirstName(), line.getCustomerLastName(),
+                line.getStatus(), line.getPaymentStatus(), line.getTotalAmount(), line.getRating(),
+                line.getComment(), new ArrayList<>());
+    }
+
+    // Justification: RFC 4180 quoting. Free-text values that start with =, +, - or @ are prefixed with a quote
+    // so spreadsheet apps opening the export do not evaluate customer comments as formulas.
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.event.OutboxConsumer;
+import com.example.online_car_service_station_backend.event.OutboxMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+// Justification: Placeholder for customer notifications driven by the outbox. There is no mail/SMS
+// provider in this project yet, so nothing is sent: it only logs, at debug level, the message that would
+// go out. A real sender replaces the logger call; it runs outside request transactions and is retried by
+// OutboxRelay on failure.
+@Component
+public class BookingNotificationConsumer implements OutboxConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingNotificationConsumer.class);
+
+    private static final Map<String, String> MESSAGES = Map.of(
+            "BookingCreated", "Your booking has been received.",
+            "BookingStatusChanged", "Your booking status has changed.",
+            "BookingPaymentStatusChanged", "We have received your payment.");
+
+    @Override
+    public String getName() {
+        return "booking-notifications";
+    }
+
+    @Override
+    public void handle(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            String text = MESSAGES.get(message.getEventType());
+            if (text != null) {
+                logger.debug("Would notify customer of booking {}: {} (event {})", message.getAggregateId(), text,
+                        message.getId());
+            }
+        }
+    }
+}
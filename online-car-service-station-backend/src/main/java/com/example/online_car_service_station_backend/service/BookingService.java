@@ -1,27 +1,58 @@
 package com.example.online_car_service_station_backend.service;
 
+import com.example.online_car_service_station_backend.config.MetricsConfig;
 import com.example.online_car_service_station_backend.dto.*;
+import com.example.online_car_service_station_backend.event.BookingChangedEvent;
 import com.example.online_car_service_station_backend.model.*;
 import com.example.online_car_service_station_backend.repository.*;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
+
+    // Justification: Upper bound for one admin page so a single request can never pull the whole table.
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_AVAILABLE_SLOTS = 50;
+
+    private static final int MAX_BULK_UPDATE = 500;
+
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
     private BookingServiceRepository bookingServiceRepository;
 
+    // Justification: Archived (cold) bookings are only read when a caller explicitly asks for them.
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
     @Autowired
     private CustomerRepository customerRepository;
 
@@ -31,7 +62,19 @@ public class BookingService {
     @Autowired
     private UserRepository userRepository;
 
-    private BookingResponse mapToResponse(Booking booking) {
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SlotCapacityService slotCapacityService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    // Package-private so the JMH benchmarks in src/jmh/java can exercise it directly.
+    BookingResponse mapToResponse(Booking booking) {
         List<ServiceResponse> bookedServices = booking.getBookingServices().stream()
                 .map(bookedService -> new ServiceResponse(
                         bookedService.getCarService().getId(),
@@ -57,7 +100,37 @@ public class BookingService {
         );
     }
 
+    // Justification: Builds a BookingResponse from the flat projection rows. The services are looked up
+    // in a map grouped by booking id, so no lazy association is touched while assembling the list.
+    BookingResponse mapToResponse(BookingSummary summary, Map<Long, List<ServiceResponse>> servicesByBooking) {
+        return new BookingResponse(
+                summary.getBookingId(),
+                summary.getCustomerId(),
+                summary.getCustomerUsername(),
+                summary.getCustomerFirstName() + " " + summary.getCustomerLastName(),
+                summary.getBookingDateTime(),
+                summary.getStatus(),
+                summary.getPaymentStatus(),
+                summary.getTotalAmount(),
+                servicesByBooking.getOrDefault(summary.getBookingId(), Collections.emptyList()),
+                summary.getRating(),
+                summary.getComment()
+        );
+    }
+
+    Map<Long, List<ServiceResponse>> groupByBooking(List<BookedServiceSummary> lines) {
+        return lines.stream().collect(Collectors.groupingBy(
+                BookedServiceSummary::getBookingId,
+                Collectors.mapping(line -> new ServiceResponse(
+                        line.getCarServiceId(),
+                        line.getName(),
+                        line.getDescription(),
+                        line.getPriceAtBooking(),
+                        line.getImageUrl()), Collectors.toList())));
+    }
+
     @Transactional
+    @Timed(value = MetricsConfig.SERVICE_METHOD_TIMER, histogram = true)
     public BookingResponse createBooking(BookingRequest bookingRequest, UserDetails userDetails) {
         User user = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
@@ -73,35 +146,184 @@ public class BookingService {
                 .map(CarService::getPrice)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
+        // Justification: Reserve bay capacity first; if any slot is full this throws and nothing is written.
+        int slotCount = slotCapacityService.slotCountFor(requestedServices);
+        slotCapacityService.reserve(bookingRequest.getBookingDateTime(), slotCount);
+
         Booking booking = new Booking();
         booking.setCustomer(customer);
         booking.setBookingDateTime(bookingRequest.getBookingDateTime());
         booking.setStatus(BookingStatus.PENDING);
         booking.setPaymentStatus(PaymentStatus.PENDING);
         booking.setTotalAmount(totalAmount);
+        booking.setSlotCount(slotCount);
         Booking savedBooking = bookingRepository.save(booking);
 
-        for (CarService carService : requestedServices) {
-            BookedService bookedServiceEntity = new BookedService();
-            bookedServiceEntity.setBooking(savedBooking);
-            bookedServiceEntity.setCarService(carService);
-            bookedServiceEntity.setPriceAtBooking(carService.getPrice());
-            bookedServiceEntity.setQuantity(1);
-            bookingServiceRepository.save(bookedServiceEntity);
-            savedBooking.getBookingServices().add(bookedServiceEntity);
-        }
+        // Justification: All service lines go to the database in one JDBC batch instead of one save() per
+        // service, so the service lines cost one write statement however many there are. The lines are
+        // not attached to savedBooking, so the response is built from the services that were just priced.
+        bookingServiceRepository.insertAllForBooking(savedBooking.getId(), requestedServices);
+        outboxService.recordBookingCreated(savedBooking);
+
+        List<ServiceResponse> bookedServices = requestedServices.stream()
+                .map(carService -> new ServiceResponse(
+                        carService.getId(),
+                        carService.getName(),
+                        carService.getDescription(),
+                        carService.getPrice(),
+                        carService.getImageUrl()))
+                .collect(Collectors.toList());
 
-        return mapToResponse(savedBooking);
+        return new BookingResponse(
+                savedBooking.getId(),
+                customer.getId(),
+                user.getUsername(),
+                customer.getFirstName() + " " + customer.getLastName(),
+                savedBooking.getBookingDateTime(),
+                savedBooking.getStatus(),
+                savedBooking.getPaymentStatus(),
+                savedBooking.getTotalAmount(),
+                bookedServices,
+                savedBooking.getRating(),
+                savedBooking.getComment()
+        );
     }
 
-    @Transactional
+    // Justification: Free start times for the requested services. Only the services are read from the
+    // database (a primary-key lookup); the slot search itself runs against the in-memory AvailabilityIndex.
+    @Transactional(readOnly = true)
+    public List<AvailableSlot> getAvailableSlots(List<Long> carServiceIds, LocalDateTime from, int limit) {
+        List<CarService> services = carServiceRepository.findAllById(carServiceIds);
+        if (services.isEmpty() || services.size() != new HashSet<>(carServiceIds).size()) {
+            throw new RuntimeException("One or more service IDs are invalid.");
+        }
+        return slotCapacityService.findNextFreeSlots(services, from, Math.max(1, Math.min(limit, MAX_AVAILABLE_SLOTS)));
+    }
+
+    // Justification: The admin list is served from two projection queries (bookings with customer/user,
+    // and all booked service lines) instead of findAll() plus lazy loading per row. The statement count
+    // therefore stays constant no matter how many bookings exist.
+    @Transactional(readOnly = true)
     public List<BookingResponse> getAllBookings() {
-        return bookingRepository.findAll().stream()
-                .map(this::mapToResponse)
+        List<BookingSummary> summaries = bookingRepository.findAllSummaries();
+        if (summaries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<ServiceResponse>> servicesByBooking = groupByBooking(bookingRepository.findAllBookedServiceSummaries());
+        return summaries.stream()
+                .map(summary -> mapToResponse(summary, servicesByBooking))
                 .collect(Collectors.toList());
     }
 
-    @Transactional
+    // Justification: Keyset-paginated admin listing. One extra row is requested to know whether another
+    // page exists; the last row returned becomes the cursor for the next call. Two queries per page
+    // (bookings and their service lines), independent of the table size and of the page number.
+    @Transactional(readOnly = true)
+    public BookingPageResponse getBookingsPage(BookingStatus status, PaymentStatus paymentStatus, Long customerId,
+                                               LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        return getBookingsPage(status, paymentStatus, customerId, from, to, cursor, size, false);
+    }
+
+    // Justification: With includeArchived the same keyset page is also read from bookings_archive and the two
+    // sorted pages are merged, so the cursor works across both tables. Archived ids keep their original
+    // values and never collide with live ones.
+    @Transactional(readOnly = true)
+    public BookingPageResponse getBookingsPage(BookingStatus status, PaymentStatus paymentStatus, Long customerId,
+                                               LocalDateTime from, LocalDateTime to, String cursor, int size,
+                                               boolean includeArchived) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime cursorDateTime = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorDateTime = LocalDateTime.parse(parts[0]);
+            cursorId = Long.valueOf(parts[1]);
+        }
+
+        List<BookingSummary> summaries = bookingRepository.findSummariesPage(status, paymentStatus, customerId,
+                from, to, cursorDateTime, cursorId, pageSize + 1);
+        Set<Long> archivedIds = Collections.emptySet();
+        if (includeArchived) {
+            List<BookingSummary> archived = archivedBookingRepository.findSummariesPage(status, paymentStatus, customerId,
+                    from, to, cursorDateTime, cursorId, pageSize + 1);
+            archivedIds = archived.stream().map(BookingSummary::getBookingId).collect(Collectors.toSet());
+            summaries = mergeNewestFirst(summaries, archived, pageSize + 1);
+        }
+
+        boolean hasMore = summaries.size() > pageSize;
+        if (hasMore) {
+            summaries = summaries.subList(0, pageSize);
+        }
+        if (summaries.isEmpty()) {
+            return new BookingPageResponse(new ArrayList<>(), null, false);
+        }
+
+        List<Long> bookingIds = new ArrayList<>();
+        List<Long> pageArchivedIds = new ArrayList<>();
+        for (BookingSummary summary : summaries) {
+            (archivedIds.contains(summary.getBookingId()) ? pageArchivedIds : bookingIds).add(summary.getBookingId());
+        }
+        List<BookedServiceSummary> lines = bookingIds.isEmpty()
+                ? new ArrayList<>()
+                : new ArrayList<>(bookingRepository.findBookedServiceSummariesByBookingIds(bookingIds));
+        if (!pageArchivedIds.isEmpty()) {
+            lines.addAll(archivedBookingRepository.findBookedServiceSummariesByBookingIds(pageArchivedIds));
+        }
+        Map<Long, List<ServiceResponse>> servicesByBooking = groupByBooking(lines);
+        List<BookingResponse> bookings = summaries.stream()
+                .map(summary -> mapToResponse(summary, servicesByBooking))
+                .collect(Collectors.toList());
+
+        BookingSummary last = summaries.get(summaries.size() - 1);
+        String nextCursor = hasMore ? encodeCursor(last.getBookingDateTime(), last.getBookingId()) : null;
+        return new BookingPageResponse(bookings, nextCursor, hasMore);
+    }
+
+    // Justification: Merges two lists already sorted by (bookingDateTime desc, id desc), keeping at most limit rows.
+    private static List<BookingSummary> mergeNewestFirst(List<BookingSummary> left, List<BookingSummary> right, int limit) {
+        Comparator<BookingSummary> newestFirst = Comparator.comparing(BookingSummary::getBookingDateTime)
+                .thenComparing(BookingSummary::getBookingId)
+                .reversed();
+        List<BookingSummary> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < left.size() || j < right.size())) {
+            if (j >= right.size() || (i < left.size() && newestFirst.compare(left.get(i), right.get(j)) <= 0)) {
+                merged.add(left.get(i++));
+            } else {
+                merged.add(right.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    // Justification: The cursor is an opaque, URL-safe token so clients cannot depend on its layout.
+    private String encodeCursor(LocalDateTime bookingDateTime, Long bookingId) {
+        String raw = bookingDateTime + "|" + bookingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid pagination cursor.");
+        }
+    }
+
+    // Justification: Version of the customer's booking list for conditional GETs of /my-bookings.
+    // One aggregate query instead of loading the bookings.
+    @Transactional(readOnly = true)
+    public VersionStamp getCustomerBookingsVersion(UserDetails userDetails) {
+        return bookingRepository.findVersionStampByUsername(userDetails.getUsername());
+    }
+
+    @Transactional(readOnly = true)
     public List<BookingResponse> getCustomerBookings(UserDetails userDetails) {
         User user = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("Authenticated user not found."));
@@ -112,8 +334,30 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Optional<BookingResponse> getBookingById(Long id, UserDetails userDetails) {
+        return getBookingById(id, userDetails, false);
+    }
+
+    // Justification: With includeArchived, an id that is no longer in the hot table is looked up in the archive,
+    // with the same rule: admins see any booking, customers only their own.
+    @Transactional(readOnly = true)
+    public Optional<BookingResponse> getBookingById(Long id, UserDetails userDetails, boolean includeArchived) {
+        Optional<BookingResponse> live = findLiveBookingById(id, userDetails);
+        if (live.isPresent() || !includeArchived || bookingRepository.existsById(id)) {
+            return live;
+        }
+        return archivedBookingRepository.findSummaryById(id)
+                .filter(summary -> isAdmin(userDetails) || summary.getCustomerUsername().equals(userDetails.getUsername()))
+                .map(summary -> mapToResponse(summary,
+                        groupByBooking(archivedBookingRepository.findBookedServiceSummariesByBookingIds(List.of(id)))));
+    }
+
+    private static boolean isAdmin(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    private Optional<BookingResponse> findLiveBookingById(Long id, UserDetails userDetails) {
         return bookingRepository.findById(id)
                 .flatMap(booking -> {
                     User user = userRepository.findByUsername(userDetails.getUsername())
@@ -131,6 +375,7 @@ public class BookingService {
     @Transactional
     public Optional<BookingResponse> updateBookingStatus(Long id, UpdateBookingRequest updateRequest) {
         return bookingRepository.findById(id).map(booking -> {
+            BookingChangedEvent change = BookingChangedEvent.before(booking);
             if (updateRequest.getStatus() != null) {
                 booking.setStatus(updateRequest.getStatus());
             }
@@ -138,10 +383,99 @@ public class BookingService {
                 booking.setPaymentStatus(updateRequest.getPaymentStatus());
             }
             Booking updatedBooking = bookingRepository.save(booking);
+            eventPublisher.publishEvent(change);
             return mapToResponse(updatedBooking);
         });
     }
 
+    // Justification: Bulk version of updateBookingStatus for the service floor. In one transaction it locks all
+    // requested bookings with a single SELECT ... FOR UPDATE, validates each transition, applies the valid ones
+    // with at most two set-based UPDATEs (status, payment status) and reports an outcome per id. Invalid or
+    // unknown ids do not stop the others. A BookingChangedEvent is still published per changed booking so
+    // rollups, slot capacity and the outbox stay consistent with the single-booking path. Those listeners run
+    // in this transaction, so if one of them fails the whole request rolls back and no booking is changed;
+    // per-id outcomes only cover validation.
+    @Transactional
+    public BulkStatusUpdateResponse bulkUpdateStatus(BulkStatusUpdateRequest request) {
+        BookingStatus targetStatus = request.getStatus();
+        PaymentStatus targetPaymentStatus = request.getPaymentStatus();
+        if (targetStatus == null && targetPaymentStatus == null) {
+            throw new RuntimeException("Either status or paymentStatus must be provided.");
+        }
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(request.getBookingIds());
+        ids.remove(null);
+        if (ids.isEmpty() || ids.size() > MAX_BULK_UPDATE) {
+            throw new RuntimeException("Between 1 and " + MAX_BULK_UPDATE + " booking ids are required.");
+        }
+
+        Map<Long, Booking> bookings = bookingRepository.lockAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        List<BulkStatusUpdateResult> results = new ArrayList<>(ids.size());
+        List<Booking> changed = new ArrayList<>();
+        List<Long> statusIds = new ArrayList<>();
+        List<Long> paymentIds = new ArrayList<>();
+        for (Long id : ids) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                results.add(new BulkStatusUpdateResult(id, BulkStatusUpdateResult.Outcome.NOT_FOUND, null, null, "Booking not found."));
+                continue;
+            }
+            BookingStatus fromStatus = booking.getStatus();
+            PaymentStatus fromPaymentStatus = booking.getPaymentStatus();
+            boolean statusChanges = targetStatus != null && targetStatus != fromStatus;
+            boolean paymentChanges = targetPaymentStatus != null && targetPaymentStatus != fromPaymentStatus;
+            String rejection = null;
+            if (statusChanges && !fromStatus.canTransitionTo(targetStatus)) {
+                rejection = "Status cannot change from " + fromStatus + " to " + targetStatus + ".";
+            } else if (paymentChanges && !fromPaymentStatus.canTransitionTo(targetPaymentStatus)) {
+                rejection = "Payment status cannot change from " + fromPaymentStatus + " to " + targetPaymentStatus + ".";
+            } else if (paymentChanges && (statusChanges ? targetStatus : fromStatus) == BookingStatus.CANCELLED) {
+                rejection = "A cancelled booking cannot be marked as paid.";
+            }
+
+            if (rejection != null) {
+                results.add(new BulkStatusUpdateResult(id, BulkStatusUpdateResult.Outcome.INVALID_TRANSITION, fromStatus, fromPaymentStatus, rejection));
+            } else if (!statusChanges && !paymentChanges) {
+                results.add(new BulkStatusUpdateResult(id, BulkStatusUpdateResult.Outcome.UNCHANGED, fromStatus, fromPaymentStatus, null));
+            } else {
+                results.add(new BulkStatusUpdateResult(id, BulkStatusUpdateResult.Outcome.UPDATED, fromStatus, fromPaymentStatus, null));
+                changed.add(booking);
+                if (statusChanges) {
+                    statusIds.add(id);
+                }
+                if (paymentChanges) {
+                    paymentIds.add(id);
+                }
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            List<Long> changedIds = changed.stream().map(Booking::getId).collect(Collectors.toList());
+            bookingRepository.fetchServiceLinesByIdIn(changedIds);
+            LocalDateTime now = LocalDateTime.now();
+            if (!statusIds.isEmpty()) {
+                bookingRepository.updateStatusByIdIn(statusIds, targetStatus, now);
+            }
+            if (!paymentIds.isEmpty()) {
+                bookingRepository.updatePaymentStatusByIdIn(paymentIds, targetPaymentStatus, now);
+            }
+            // Justification: The managed copies are read-only, so these setters only make the listeners see the
+            // new values; the rows themselves were already written by the UPDATEs above.
+            for (Booking booking : changed) {
+                BookingChangedEvent change = BookingChangedEvent.before(booking);
+                if (targetStatus != null) {
+                    booking.setStatus(targetStatus);
+                }
+                if (targetPaymentStatus != null) {
+                    booking.setPaymentStatus(targetPaymentStatus);
+                }
+                booking.setUpdatedAt(now);
+                eventPublisher.publishEvent(change);
+            }
+        }
+        return new BulkStatusUpdateResponse(changed.size(), results);
+    }
+
     // Justification: This method has been added to handle deleting a booking.
     // It is called from the BookingController's DELETE endpoint.
     @Transactional
@@ -151,25 +485,38 @@ public class BookingService {
         if (booking.getStatus() != BookingStatus.COMPLETED) {
             throw new RuntimeException("Booking can only be deleted if its status is 'COMPLETED'.");
         }
+        // Justification: Listeners (e.g. the revenue rollups) must see the booking before it is removed.
+        eventPublisher.publishEvent(BookingChangedEvent.before(booking).asDeleted());
         bookingRepository.delete(booking);
-        System.out.println("Booking " + bookingId + " has been deleted.");
+        logger.info("Booking {} has been deleted.", bookingId);
     }
 
     // Justification: This method has been added to calculate revenue and stats.
     // It is called from the BookingController's GET /stats endpoint.
-    @Transactional
-    public StatsResponse getRevenueAndStats() {
-        List<Booking> completedPaidBookings = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.COMPLETED && b.getPaymentStatus() == PaymentStatus.PAID)
-                .collect(Collectors.toList());
-
-        BigDecimal totalRevenue = completedPaidBookings.stream()
-                .map(Booking::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    // Revenue totals and the day/week/month/service breakdowns are read from the incrementally maintained
+    // daily rollups (one row per day), so the cost depends on the number of days, not bookings.
+    // Only the per-status breakdown is aggregated from the bookings table. Breakdowns cover [from, to);
+    // by default the last twelve months.
+    @Transactional(readOnly = true)
+    @Timed(value = MetricsConfig.SERVICE_METHOD_TIMER, histogram = true)
+    public StatsResponse getRevenueAndStats(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime rangeTo = to != null ? to : LocalDate.now().plusDays(1).atStartOfDay();
+        LocalDateTime rangeFrom = from != null ? from : rangeTo.minusMonths(12);
+        LocalDate firstDay = rangeFrom.toLocalDate();
+        LocalDate lastDay = rangeTo.minusNanos(1).toLocalDate();
 
-        Long totalCount = (long) completedPaidBookings.size();
+        RollupTotals totals = revenueRollupService.getAllTimeTotals();
+        StatsResponse stats = new StatsResponse(
+                totals.getRevenue() != null ? totals.getRevenue() : BigDecimal.ZERO,
+                totals.getRevenueCount() != null ? totals.getRevenueCount() : 0L);
 
-        return new StatsResponse(totalRevenue, totalCount);
+        List<BookingDailyRollup> days = revenueRollupService.getStationRows(firstDay, lastDay);
+        stats.setRevenueByDay(revenueRollupService.toDailyBuckets(days));
+        stats.setRevenueByWeek(revenueRollupService.toWeeklyBuckets(days));
+        stats.setRevenueByMonth(revenueRollupService.toMonthlyBuckets(days));
+        stats.setRevenueByService(revenueRollupService.getRevenueByService(firstDay, lastDay));
+        stats.setBookingsByStatus(bookingRepository.sumBookingsByStatus(rangeFrom, rangeTo));
+        return stats;
     }
 
     @Transactional
@@ -192,8 +539,10 @@ public class BookingService {
             throw new RuntimeException("Feedback for this booking has already been submitted.");
         }
 
+        BookingChangedEvent change = BookingChangedEvent.before(booking);
         booking.setRating(feedbackRequest.getRating());
         booking.setComment(feedbackRequest.getComment());
         bookingRepository.save(booking);
+        eventPublisher.publishEvent(change);
     }
 }
\ No newline at end of file
@@ -0,0 +1,303 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.model.IdempotencyRecord;
+import com.example.online_car_service_station_backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Justification: Idempotency-Key support for non-idempotent POSTs (booking creation, payment order creation).
+// The first request with a key claims it in the idempotency_keys table in its own short transaction, so a
+// concurrent retry hits the unique constraint instead of doing the work twice. When the operation succeeds
+// the response JSON is stored with the claim (in the caller's transaction when there is one). Retries with
+// the same key and body then replay it, first from a bounded in-memory front cache and otherwise from the
+// table. A failed or rolled-back operation releases its claim so the client can retry. A claim that is neither
+// completed nor released (the JVM died, or storing the response failed) holds the key only for the lease;
+// after that a retry with the same body takes it over and runs the operation again.
+//
+// Callers invoke execute() outside their own transaction (BookingController, and the non-transactional
+// PaymentService.createOrder), so a request holds at most one pooled connection at a time and stored results
+// are read from a fresh snapshot on the primary rather than from the caller's REPEATABLE READ snapshot.
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate requiredTransaction;
+    private final long ttlMinutes;
+    private final long leaseSeconds;
+    private final int maxCachedResponses;
+    private final Map<String, CachedResponse> cachedResponses = new ConcurrentHashMap<>();
+
+    public IdempotencyService(PlatformTransactionManager transactionManager,
+                              @Value("${app.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                              @Value("${app.idempotency.lease-seconds:30}") long leaseSeconds,
+                              @Value("${app.idempotency.cache-max-size:10000}") int maxCachedResponses) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.requiredTransaction = new TransactionTemplate(transactionManager);
+        this.ttlMinutes = ttlMinutes;
+        this.leaseSeconds = leaseSeconds;
+        this.maxCachedResponses = maxCachedResponses;
+    }
+
+    @FunctionalInterface
+    public interface Operation<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    // Justification: Runs 'operation' at most once per (scope, owner, key) within the TTL. Without a key it
+    // simply runs the operation, so clients that do not send the header keep the old behaviour.
+    public <T, E extends Exception> T execute(String scope, String owner, String key, Object request,
+                                              Class<T> responseType, Operation<T, E> operation) throws E {
+        if (key == null || key.isBlank()) {
+            return operation.run();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters.");
+        }
+        String cacheKey = scope + ":" + owner + ":" + key;
+        String requestHash = hash(request);
+
+        Optional<T> replay = findStoredResponse(cacheKey, scope, owner, key, requestHash, responseType);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        Claim claim;
+        try {
+            claim = claim(scope, owner, key, requestHash);
+        } catch (DataIntegrityViolationException e) {
+            // Justification: Another request with the same key got there first.
+            return findStoredResponse(cacheKey, scope, owner, key, requestHash, responseType)
+                    .orElseThrow(() -> new RuntimeException("A request with this " + HEADER + " is still being processed."));
+        }
+        releaseIfRolledBack(claim, cacheKey);
+
+        T response;
+        try {
+            response = operation.run();
+        } catch (Exception e) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                release(claim);
+            }
+            throw e;
+        }
+
+        String responseBody = toJson(response);
+        Integer completed = requiredTransaction.execute(status ->
+                recordRepository.complete(claim.id, claim.claimedAt, responseBody));
+        if (completed == null || completed == 0) {
+            // Justification: The operation outlived its lease and a retry took the key over. Its response
+            // is returned to this caller; the retry stores its own.
+            logger.warn("Idempotency claim {} was taken over before it completed.", cacheKey);
+            return response;
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(ttlMinutes);
+        cacheAfterCommit(cacheKey, new CachedResponse(requestHash, responseBody, toMillis(expiresAt)));
+        return response;
+    }
+
+    // Justification: Housekeeping. Expired keys are deleted in one statement; the front cache drops them lazily.
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        Integer deleted = requiredTransaction.execute(status -> recordRepository.deleteExpired(LocalDateTime.now()));
+        long now = System.currentTimeMillis();
+        cachedResponses.values().removeIf(cached -> cached.expiresAt <= now);
+        logger.debug("Purged {} expired idempotency keys.", deleted);
+    }
+
+    private <T> Optional<T> findStoredResponse(String cacheKey, String scope, String owner, String key,
+                                               String requestHash, Class<T> responseType) {
+        CachedResponse cached = cachedResponses.get(cacheKey);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            return Optional.of(replay(cached.requestHash, requestHash, cached.responseBody, responseType));
+        }
+        // Justification: A read-write transaction, so the lookup goes to the primary and sees a claim that was
+        // completed a moment ago, not a lagging replica.
+        Optional<IdempotencyRecord> stored = requiredTransaction.execute(status ->
+                recordRepository.findByScopeAndOwnerNameAndIdempotencyKey(scope, owner, key)
+                        .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now())));
+        if (stored.isEmpty() || stored.get().getResponseBody() == null) {
+            return Optional.empty();
+        }
+        IdempotencyRecord record = stored.get();
+        cache(cacheKey, new CachedResponse(record.getRequestHash(), record.getResponseBody(), toMillis(record.getExpiresAt())));
+        return Optional.of(replay(record.getRequestHash(), requestHash, record.getResponseBody(), responseType));
+    }
+
+    private <T> T replay(String storedHash, String requestHash, String responseBody, Class<T> responseType) {
+        if (!storedHash.equals(requestHash)) {
+            throw new RuntimeException(HEADER + " was already used with a different request.");
+        }
+        try {
+            return objectMapper.readValue(responseBody, responseType);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Stored idempotent response could not be read.", e);
+        }
+    }
+
+    // Justification: Committed immediately in its own transaction so concurrent retries see the claim.
+    // An expired row for the same key is removed first so the key can be reused after the TTL, and an
+    // unfinished claim for the same body whose lease ran out is taken over. Otherwise the insert collides
+    // with the existing row. Timestamps are truncated to milliseconds so the fencing comparison survives
+    // the round trip through the database column.
+    private Claim claim(String scope, String owner, String key, String requestHash) {
+        return newTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            Optional<IdempotencyRecord> existing = recordRepository.findByScopeAndOwnerNameAndIdempotencyKey(scope, owner, key);
+            if (existing.isPresent()) {
+                IdempotencyRecord record = existing.get();
+                if (!record.getExpiresAt().isAfter(now)) {
+                    recordRepository.deleteClaim(record.getId());
+                    recordRepository.flush();
+                } else if (record.getResponseBody() == null && record.getRequestHash().equals(requestHash)
+                        && recordRepository.takeOver(record.getId(), now, now.minusSeconds(leaseSeconds)) == 1) {
+                    logger.warn("Taking over abandoned idempotency claim {}:{}:{}.", scope, owner, key);
+                    return new Claim(record.getId(), now);
+                }
+            }
+            IdempotencyRecord record = new IdempotencyRecord(null, scope, owner, key, requestHash, null, now, now, now.plusMinutes(ttlMinutes));
+            return new Claim(recordRepository.saveAndFlush(record).getId(), now);
+        });
+    }
+
+    private void release(Claim claim) {
+        newTransaction.executeWithoutResult(status -> recordRepository.release(claim.id, claim.claimedAt));
+    }
+
+    // Justification: When the operation joins a caller's transaction, the claim must be released if that
+    // transaction rolls back, even after the operation itself returned normally.
+    private void releaseIfRolledBack(Claim claim, String cacheKey) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    cachedResponses.remove(cacheKey);
+                    release(claim);
+                }
+            }
+        });
+    }
+
+    private void cacheAfterCommit(String cacheKey, CachedResponse response) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache(cacheKey, response);
+                }
+            });
+        } else {
+            cache(cacheKey, response);
+        }
+    }
+
+    private void cache(String cacheKey, CachedResponse response) {
+        if (cachedResponses.size() >= maxCachedResponses) {
+            evictExpiredOrOldest(System.currentTimeMillis());
+        }
+        cachedResponses.put(cacheKey, response);
+    }
+
+    // Justification: Same policy as TokenVersionCache: expired entries first, then the one closest to expiry.
+    private void evictExpiredOrOldest(long now) {
+        String oldestKey = null;
+        long oldestExpiry = Long.MAX_VALUE;
+        Iterator<Map.Entry<String, CachedResponse>> iterator = cachedResponses.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CachedResponse> candidate = iterator.next();
+            long expiresAt = candidate.getValue().expiresAt;
+            if (expiresAt <= now) {
+                iterator.remove();
+            } else if (expiresAt < oldestExpiry) {
+                oldestExpiry = expiresAt;
+                oldestKey = candidate.getKey();
+            }
+        }
+        if (cachedResponses.size() >= maxCachedResponses && oldestKey != null) {
+            cachedResponses.remove(oldestKey);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Request could not be hashed for idempotency.", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Response could not be stored for idempotency.", e);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Claim {
+        final Long id;
+        final LocalDateTime claimedAt;
+
+        Claim(Long id, LocalDateTime claimedAt) {
+            this.id = id;
+            this.claimedAt = claimedAt;
+        }
+    }
+
+    private static final class CachedResponse {
+        final String requestHash;
+        final String responseBody;
+        final long expiresAt;
+
+        CachedResponse(String requestHash, String responseBody, long expiresAt) {
+            this.requestHash = requestHash;
+            this.responseBody = responseBody;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.event.OutboxConsumer;
+import com.example.online_car_service_station_backend.event.OutboxMessage;
+import com.example.online_car_service_station_backend.model.OutboxEvent;
+import com.example.online_car_service_station_backend.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Justification: Polling relay for the transactional outbox. Each poll locks a batch of unpublished
+// events (skipping rows another node holds), hands them to every OutboxConsumer and stamps the accepted
+// rows as published, all in one transaction. Failures are tracked per event and per consumer: when a
+// consumer rejects a batch, the batch is re-offered to it one event at a time, so only the events that
+// really fail stay unpublished, and a retry only goes to the consumers that have not accepted the event
+// yet (OutboxEvent.deliveredTo). After maxAttempts an event is stamped anyway, with the error recorded,
+// so one poison event cannot stall the outbox; the rest of its batch is unaffected. Delivery is
+// at-least-once and ordered by outbox id, which is the order ids were allocated, not the order
+// transactions committed: a later id can commit, and be relayed, before an earlier one, and relays on
+// other nodes may deliver neighbouring batches concurrently.
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Justification: Length of outbox_events.last_error; a longer message would fail the whole batch's commit.
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired(required = false)
+    private List<OutboxConsumer> consumers = new ArrayList<>();
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public OutboxRelay(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Justification: Drains full batches back to back so a burst is relayed within one poll.
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    // Justification: Returns the number of events published. An event that is still undelivered to some
+    // consumer is claimed again on a later poll.
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.claimUnpublished(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            Map<Long, String> errors = new HashMap<>();
+            for (OutboxConsumer consumer : consumers) {
+                List<OutboxEvent> pending = events.stream()
+                        .filter(event -> !deliveredTo(event).contains(consumer.getName()))
+                        .collect(Collectors.toList());
+                if (!pending.isEmpty()) {
+                    deliver(consumer, pending, errors);
+                }
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            int published = 0;
+            for (OutboxEvent event : events) {
+                String error = errors.get(event.getId());
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(error);
+                if (error == null) {
+                    event.setPublishedAt(now);
+                    published++;
+                } else if (event.getAttempts() >= maxAttempts) {
+                    logger.error("Giving up on outbox event {} after {} attempts: {}", event.getId(),
+                            event.getAttempts(), error);
+                    event.setPublishedAt(now);
+                }
+            }
+            return published;
+        });
+        return relayed != null ? relayed : 0;
+    }
+
+    // Justification: Housekeeping; published events are only kept for troubleshooting.
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 30 3 * * *}")
+    public void deletePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays)));
+        logger.info("Deleted {} published outbox events.", deleted);
+    }
+
+    // Justification: Offers the pending events to one consumer as a single batch. If the batch is rejected,
+    // each event is offered on its own to find the ones that fail; the consumer must be idempotent, since
+    // it may have handled part of the rejected batch already. Accepted events are recorded in deliveredTo,
+    // failed ones get the consumer's error in 'errors'.
+    private void deliver(OutboxConsumer consumer, List<OutboxEvent> pending, Map<Long, String> errors) {
+        try {
+            consumer.handle(pending.stream().map(OutboxRelay::toMessage).collect(Collectors.toList()));
+            pending.forEach(event -> markDelivered(event, consumer));
+            return;
+        } catch (RuntimeException e) {
+            if (pending.size() == 1) {
+                recordFailure(consumer, pending.get(0), e, errors);
+                return;
+            }
+            logger.warn("Outbox consumer {} rejected a batch of {} events, retrying them one by one: {}",
+                    consumer.getName(), pending.size(), e.getMessage());
+        }
+        for (OutboxEvent event : pending) {
+            try {
+                consumer.handle(List.of(toMessage(event)));
+                markDelivered(event, consumer);
+            } catch (RuntimeException e) {
+                recordFailure(consumer, event, e, errors);
+            }
+        }
+    }
+
+    private void recordFailure(OutboxConsumer consumer, OutboxEvent event, RuntimeException e, Map<Long, String> errors) {
+        logger.warn("Outbox consumer {} failed on event {}: {}", consumer.getName(), event.getId(), e.getMessage());
+        String error = consumer.getName() + ": " + e.getMessage();
+        errors.putIfAbsent(event.getId(), error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+    }
+
+    private static void markDelivered(OutboxEvent event, OutboxConsumer consumer) {
+        event.setDeliveredTo(event.getDeliveredTo() == null
+                ? consumer.getName()
+                : event.getDeliveredTo() + "," + consumer.getName());
+    }
+
+    private static List<String> deliveredTo(OutboxEvent event) {
+        return event.getDeliveredTo() == null ? List.of() : List.of(event.getDeliveredTo().split(","));
+    }
+
+    private static OutboxMessage toMessage(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
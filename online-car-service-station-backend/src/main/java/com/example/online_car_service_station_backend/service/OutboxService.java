@@ -0,0 +1,79 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.dto.BookingEventPayload;
+import com.example.online_car_service_station_backend.event.BookingChangedEvent;
+import com.example.online_car_service_station_backend.model.Booking;
+import com.example.online_car_service_station_backend.model.OutboxEvent;
+import com.example.online_car_service_station_backend.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Justification: Writes booking and payment domain events to the outbox table. It only ever joins the
+// caller's transaction (BookingService, PaymentService), so the event row commits or rolls back together
+// with the state change. Delivery to consumers is OutboxRelay's job and never adds to request latency.
+@Service
+public class OutboxService {
+
+    public static final String BOOKING = "Booking";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void recordBookingCreated(Booking booking) {
+        record(BOOKING, booking.getId(), "BookingCreated", payload(booking, null));
+    }
+
+    // Justification: One BookingChangedEvent can carry several changes (an admin may update status and
+    // payment status together); each change becomes its own outbox event.
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking booking = event.getBooking();
+        BookingEventPayload payload = payload(booking, event);
+        if (event.isDeleted()) {
+            record(BOOKING, booking.getId(), "BookingDeleted", payload);
+            return;
+        }
+        if (event.getPreviousStatus() != booking.getStatus()) {
+            record(BOOKING, booking.getId(), "BookingStatusChanged", payload);
+        }
+        if (event.getPreviousPaymentStatus() != booking.getPaymentStatus()) {
+            record(BOOKING, booking.getId(), "BookingPaymentStatusChanged", payload);
+        }
+        if (!Objects.equals(event.getPreviousRating(), booking.getRating())) {
+            record(BOOKING, booking.getId(), "BookingFeedbackSubmitted", payload);
+        }
+    }
+
+    public void record(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Outbox event " + eventType + " could not be serialized.", e);
+        }
+        outboxEventRepository.save(new OutboxEvent(null, aggregateType, aggregateId, eventType, json,
+                LocalDateTime.now(), null, null, 0, null));
+    }
+
+    private BookingEventPayload payload(Booking booking, BookingChangedEvent event) {
+        return new BookingEventPayload(
+                booking.getId(),
+                booking.getCustomer().getId(),
+                booking.getBookingDateTime(),
+                booking.getStatus(),
+                event != null ? event.getPreviousStatus() : null,
+                booking.getPaymentStatus(),
+                event != null ? event.getPreviousPaymentStatus() : null,
+                booking.getTotalAmount(),
+                booking.getRating());
+    }
+}
@@ -1,19 +1,23 @@
 package com.example.online_car_service_station_backend.service;
 
+import com.example.online_car_service_station_backend.config.MetricsConfig;
 import com.example.online_car_service_station_backend.dto.PaymentConfirmationRequest;
 import com.example.online_car_service_station_backend.dto.PaymentRequest;
 import com.example.online_car_service_station_backend.dto.PaymentResponse;
+import com.example.online_car_service_station_backend.event.BookingChangedEvent;
 import com.example.online_car_service_station_backend.model.Booking;
 import com.example.online_car_service_station_backend.model.PaymentStatus;
+import com.example.online_car_service_station_backend.payment.PaymentGateway;
 import com.example.online_car_service_station_backend.repository.BookingRepository;
-import com.razorpay.Order;
-import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
 import com.razorpay.Utils;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
-import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -22,18 +26,38 @@ import java.util.Optional;
 @Service
 public class PaymentService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
+
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PaymentGateway paymentGateway;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @Value("${razorpay.key.id}")
     private String keyId;
 
     @Value("${razorpay.key.secret}")
     private String keySecret;
 
+    // Justification: Entry point for POST /api/payments/create-order. With an Idempotency-Key a retried
+    // request gets the Razorpay order created by the first attempt instead of a fresh one.
+    @Timed(value = MetricsConfig.SERVICE_METHOD_TIMER, histogram = true)
+    public PaymentResponse createOrder(PaymentRequest paymentRequest, String username, String idempotencyKey) throws RazorpayException {
+        return idempotencyService.execute("create-payment-order", username, idempotencyKey,
+                paymentRequest, PaymentResponse.class, () -> createOrder(paymentRequest));
+    }
+
     // Justification: This method creates a Razorpay order. It validates the booking in our database
-    // and then calls the Razorpay API to generate a new order ID.
-    public PaymentResponse createOrder(PaymentRequest paymentRequest) throws RazorpayException {
+    // and then calls the Razorpay API to generate a new order ID. Only reached through the idempotent
+    // createOrder above, whose timer covers it.
+    private PaymentResponse createOrder(PaymentRequest paymentRequest) throws RazorpayException {
         Optional<Booking> bookingOptional = bookingRepository.findById(paymentRequest.getBookingId());
         if (bookingOptional.isEmpty()) {
             throw new RuntimeException("Booking not found.");
@@ -44,19 +68,14 @@ public class PaymentService {
             throw new RuntimeException("Payment for this booking is already completed.");
         }
 
-        RazorpayClient razorpayClient = new RazorpayClient(keyId, keySecret);
-        JSONObject orderRequest = new JSONObject();
-
         // Justification: Razorpay expects the amount in the smallest currency unit (e.g., paise for INR).
         BigDecimal amountInPaise = paymentRequest.getAmount().multiply(new BigDecimal(100));
-        orderRequest.put("amount", amountInPaise.intValue());
-        orderRequest.put("currency", "INR");
-        orderRequest.put("receipt", "receipt_" + booking.getId());
+        String orderId = paymentGateway.createOrder(amountInPaise.intValue(), "INR", "receipt_" + booking.getId());
 
-        Order order = razorpayClient.orders.create(orderRequest);
-        String orderId = order.get("id");
+        // Justification: Remembered so that payment webhooks, which only carry the order id, can find the booking.
+        bookingRepository.updateRazorpayOrderId(booking.getId(), orderId);
 
-        System.out.println("Razorpay Order created for Booking " + booking.getId() + ": " + orderId);
+        logger.info("Razorpay order {} created for booking {}.", orderId, booking.getId());
 
         return new PaymentResponse(orderId, booking.getId(), paymentRequest.getAmount(), keyId);
     }
@@ -78,9 +97,16 @@ public class PaymentService {
         Optional<Booking> bookingOptional = bookingRepository.findById(bookingId);
         if (bookingOptional.isPresent()) {
             Booking booking = bookingOptional.get();
+            // Justification: The browser confirmation and the payment webhook both report the same payment;
+            // whichever arrives second is a no-op.
+            if (booking.getPaymentStatus() == status) {
+                return;
+            }
+            BookingChangedEvent change = BookingChangedEvent.before(booking);
             booking.setPaymentStatus(status);
             bookingRepository.save(booking);
-            System.out.println("Booking " + bookingId + " payment status updated to: " + status);
+            eventPublisher.publishEvent(change);
+            logger.info("Booking {} payment status updated to {}.", bookingId, status);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.model.Booking;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import com.example.online_car_service_station_backend.model.PaymentWebhookEvent;
+import com.example.online_car_service_station_backend.model.WebhookEventStatus;
+import com.example.online_car_service_station_backend.repository.BookingRepository;
+import com.example.online_car_service_station_backend.repository.PaymentWebhookEventRepository;
+import com.razorpay.RazorpayException;
+import com.razorpay.Utils;
+import jakarta.annotation.PreDestroy;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Justification: Asynchronous payment reconciliation. Razorpay webhooks are verified and appended to the
+// payment_webhook_events table (a durable local queue, de-duplicated by payment id) and acknowledged
+// straight away. A small pool of worker threads drains the queue in batches and marks the bookings PAID
+// through PaymentService.updateBookingPaymentStatus. Payments are confirmed even if the customer closes
+// the tab before /verify-payment runs. Workers claim rows with SKIP LOCKED, so any number of application
+// instances can share the queue.
+@Service
+public class PaymentWebhookService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentWebhookService.class);
+
+    private static final Set<String> PAID_EVENTS = Set.of("payment.captured", "order.paid");
+
+    @Autowired
+    private PaymentWebhookEventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Value("${razorpay.webhook.secret:}")
+    private String webhookSecret;
+
+    @Value("${payment.webhook.workers:2}")
+    private int workers;
+
+    @Value("${payment.webhook.batch-size:50}")
+    private int batchSize;
+
+    @Value("${payment.webhook.poll-interval-ms:500}")
+    private long pollIntervalMillis;
+
+    @Value("${payment.webhook.max-attempts:8}")
+    private int maxAttempts;
+
+    private final TransactionTemplate transactionTemplate;
+    private ExecutorService workerPool;
+    private volatile boolean running;
+
+    public PaymentWebhookService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Justification: Called by the webhook endpoint. Returns false if the signature is missing or invalid.
+    // Events other than a successful payment are acknowledged and ignored.
+    @Transactional
+    public boolean receive(String payload, String signature) throws RazorpayException {
+        if (webhookSecret.isBlank() || signature == null
+                || !Utils.verifyWebhookSignature(payload, signature, webhookSecret)) {
+            return false;
+        }
+        try {
+            JSONObject event = new JSONObject(payload);
+            String eventType = event.getString("event");
+            if (!PAID_EVENTS.contains(eventType)) {
+                return true;
+            }
+            JSONObject payment = event.getJSONObject("payload").getJSONObject("payment").getJSONObject("entity");
+            int inserted = eventRepository.enqueue(payment.getString("id"), payment.getString("order_id"),
+                    eventType, LocalDateTime.now());
+            if (inserted == 0) {
+                logger.info("Duplicate webhook for payment {} ignored.", payment.getString("id"));
+            }
+            return true;
+        } catch (JSONException e) {
+            throw new RazorpayException("Malformed webhook payload: " + e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorkers() {
+        if (workers <= 0) {
+            return;
+        }
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "payment-webhook-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            workerPool.submit(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    public void stopWorkers() throws InterruptedException {
+        running = false;
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+            workerPool.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    // Justification: Applies the next batch of due events and returns how many were due. Bookings are
+    // resolved for the whole batch with one query, then every event is claimed and applied in its own
+    // transaction, so an event that fails rolls back only its own booking update and the rest of the batch
+    // still commits. Events whose booking is not known yet (the order id is saved just after the order is
+    // created, so a webhook can overtake it) or whose update fails are retried with exponential back-off
+    // and marked FAILED after maxAttempts.
+    public int processBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = eventRepository.findDueIds(now, batchSize);
+        if (dueIds.isEmpty()) {
+            return 0;
+        }
+        Set<String> orderIds = eventRepository.findAllById(dueIds).stream()
+                .map(PaymentWebhookEvent::getOrderId).collect(Collectors.toSet());
+        Map<String, Long> bookingIdsByOrderId = bookingRepository.findByRazorpayOrderIdIn(orderIds).stream()
+                .collect(Collectors.toMap(Booking::getRazorpayOrderId, Booking::getId, (first, second) -> first));
+
+        for (Long eventId : dueIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> eventRepository.claim(eventId, now)
+                        .ifPresent(event -> apply(event, bookingIdsByOrderId.get(event.getOrderId()), now)));
+            } catch (RuntimeException e) {
+                logger.warn("Payment webhook event {} failed: {}", eventId, e.getMessage());
+                transactionTemplate.executeWithoutResult(status -> eventRepository.claim(eventId, now)
+                        .ifPresent(event -> retryLater(event, e.getMessage(), now)));
+            }
+        }
+        return dueIds.size();
+    }
+
+    private void apply(PaymentWebhookEvent event, Long bookingId, LocalDateTime now) {
+        if (bookingId == null) {
+            retryLater(event, "No booking found for order " + event.getOrderId(), now);
+            return;
+        }
+        event.setAttempts(event.getAttempts() + 1);
+        paymentService.updateBookingPaymentStatus(bookingId, PaymentStatus.PAID);
+        event.setStatus(WebhookEventStatus.PROCESSED);
+        event.setProcessedAt(now);
+        event.setLastError(null);
+    }
+
+    private void retryLater(PaymentWebhookEvent event, String error, LocalDateTime now) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error);
+        if (event.getAttempts() >= maxAttempts) {
+            event.setStatus(WebhookEventStatus.FAILED);
+        } else {
+            event.setAvailableAt(now.plusSeconds(1L << event.getAttempts()));
+        }
+    }
+
+    private void runWorker() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (processBatch() < batchSize) {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.warn("Payment webhook batch failed, will retry: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.dto.RollupTotals;
+import com.example.online_car_service_station_backend.dto.StatsBucket;
+import com.example.online_car_service_station_backend.event.BookingChangedEvent;
+import com.example.online_car_service_station_backend.model.BookedService;
+import com.example.online_car_service_station_backend.model.Booking;
+import com.example.online_car_service_station_backend.model.BookingDailyRollup;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import com.example.online_car_service_station_backend.repository.BookingDailyRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Justification: Maintains the BookingDailyRollup table. Every BookingChangedEvent is turned into a delta
+// (contribution after the change minus contribution before it) that is added to the day's station-wide
+// row and to one row per booked service. A full rebuild from the bookings table is available for backfill
+// or to repair drift. The read methods serve the admin stats page in O(days).
+//
+// The deltas are applied synchronously in the booking's transaction rather than by an OutboxConsumer.
+// They are increments, so the relay's at-least-once delivery would double-count on every redelivery, and
+// a consumer must not write through the relay's transaction anyway. In the booking transaction a delta
+// commits or rolls back together with the change it describes, at the cost of one upsert per booked
+// service on the write path.
+@Service
+public class RevenueRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueRollupService.class);
+
+    @Autowired
+    private BookingDailyRollupRepository rollupRepository;
+
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking booking = event.getBooking();
+        Contribution before = new Contribution(event.getPreviousStatus(), event.getPreviousPaymentStatus(), event.getPreviousRating());
+        Contribution after = event.isDeleted()
+                ? Contribution.NONE
+                : new Contribution(booking.getStatus(), booking.getPaymentStatus(), booking.getRating());
+
+        long revenueDelta = after.revenue - before.revenue;
+        long completedDelta = after.completed - before.completed;
+        long paidDelta = after.paid - before.paid;
+        long ratingSumDelta = after.ratingSum - before.ratingSum;
+        long ratingCountDelta = after.ratingCount - before.ratingCount;
+        if (revenueDelta == 0 && completedDelta == 0 && paidDelta == 0 && ratingSumDelta == 0 && ratingCountDelta == 0) {
+            return;
+        }
+
+        LocalDate day = booking.getBookingDateTime().toLocalDate();
+        rollupRepository.applyDelta(day, BookingDailyRollup.ALL_SERVICES,
+                booking.getTotalAmount().multiply(BigDecimal.valueOf(revenueDelta)),
+                revenueDelta, completedDelta, paidDelta, ratingSumDelta, ratingCountDelta);
+
+        for (BookedService line : booking.getBookingServices()) {
+            BigDecimal lineAmount = line.getPriceAtBooking().multiply(BigDecimal.valueOf(line.getQuantity()));
+            rollupRepository.applyDelta(day, line.getCarService().getId(),
+                    lineAmount.multiply(BigDecimal.valueOf(revenueDelta)),
+                    revenueDelta, completedDelta, paidDelta, ratingSumDelta, ratingCountDelta);
+        }
+    }
+
+    // Justification: Backfill command. Recomputes every rollup row from the bookings table with two
+    // set-based statements inside one transaction. The bookings are share-locked first: in-flight booking
+    // writes (and the deltas they apply) commit before the rebuild reads, and new ones wait until it has
+    // committed and then apply their delta on top of the rebuilt rows, so no change is lost in between.
+    // Booking writes stall for the duration, so it is meant for first deployment or to repair drift.
+    @Transactional
+    public int rebuild() {
+        rollupRepository.lockBookingsForShare();
+        rollupRepository.deleteAllRows();
+        int rows = rollupRepository.rebuildStationRows() + rollupRepository.rebuildServiceRows();
+        logger.info("Booking daily rollups rebuilt: {} rows.", rows);
+        return rows;
+    }
+
+    public RollupTotals getAllTimeTotals() {
+        return rollupRepository.sumAllTime();
+    }
+
+    public List<BookingDailyRollup> getStationRows(LocalDate from, LocalDate to) {
+        return rollupRepository.findByCarServiceIdAndRollupDateBetweenOrderByRollupDate(BookingDailyRollup.ALL_SERVICES, from, to);
+    }
+
+    public List<StatsBucket> getRevenueByService(LocalDate from, LocalDate to) {
+        return rollupRepository.sumByService(from, to).stream()
+                .map(totals -> new StatsBucket(totals.getKey(), totals.getRevenue(), totals.getRevenueCount(),
+                        averageRating(totals.getRatingSum(), totals.getRatingCount())))
+                .collect(Collectors.toList());
+    }
+
+    public List<StatsBucket> toDailyBuckets(List<BookingDailyRollup> rows) {
+        List<StatsBucket> buckets = new ArrayList<>();
+        for (BookingDailyRollup row : rows) {
+            buckets.add(new StatsBucket(row.getRollupDate().toString(), row.getRevenue(), row.getRevenueCount(),
+                    averageRating(row.getRatingSum(), row.getRatingCount())));
+        }
+        return buckets;
+    }
+
+    public List<StatsBucket> toWeeklyBuckets(List<BookingDailyRollup> rows) {
+        return groupRows(rows, day -> String.format("%d-W%02d",
+                day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)));
+    }
+
+    public List<StatsBucket> toMonthlyBuckets(List<BookingDailyRollup> rows) {
+        return groupRows(rows, day -> String.format("%d-%02d", day.getYear(), day.getMonthValue()));
+    }
+
+    // Justification: Weeks and months are folded from the (already ordered) daily rows in memory,
+    // which is at most a few hundred rows for the default twelve-month range.
+    private List<StatsBucket> groupRows(List<BookingDailyRollup> rows, Function<LocalDate, String> keyOf) {
+        Map<String, BookingDailyRollup> grouped = new LinkedHashMap<>();
+        for (BookingDailyRollup row : rows) {
+            grouped.merge(keyOf.apply(row.getRollupDate()), copyOf(row), (acc, next) -> {
+                acc.setRevenue(acc.getRevenue().add(next.getRevenue()));
+                acc.setRevenueCount(acc.getRevenueCount() + next.getRevenueCount());
+                acc.setRatingSum(acc.getRatingSum() + next.getRatingSum());
+                acc.setRatingCount(acc.getRatingCount() + next.getRatingCount());
+                return acc;
+            });
+        }
+        List<StatsBucket> buckets = new ArrayList<>();
+        grouped.forEach((key, acc) -> buckets.add(new StatsBucket(key, acc.getRevenue(), acc.getRevenueCount(),
+                averageRating(acc.getRatingSum(), acc.getRatingCount()))));
+        return buckets;
+    }
+
+    private BookingDailyRollup copyOf(BookingDailyRollup row) {
+        return new BookingDailyRollup(null, row.getRollupDate(), row.getCarServiceId(), row.getRevenue(),
+                row.getRevenueCount(), row.getCompletedCount(), row.getPaidCount(), row.getRatingSum(), row.getRatingCount());
+    }
+
+    private Double averageRating(Long ratingSum, Long ratingCount) {
+        if (ratingSum == null || ratingCount == null || ratingCount == 0) {
+            return null;
+        }
+        return (double) ratingSum / ratingCount;
+    }
+
+    // Justification: How much one booking contributes to its rollup rows in a given state.
+    // 'revenue' is a 0/1 multiplier applied to the booking or line amount.
+    private static final class Contribution {
+        static final Contribution NONE = new Contribution(null, null, null);
+
+        final long revenue;
+        final long completed;
+        final long paid;
+        final long ratingSum;
+        final long ratingCount;
+
+        Contribution(BookingStatus status, PaymentStatus paymentStatus, Integer rating) {
+            this.completed = status == BookingStatus.COMPLETED ? 1 : 0;
+            this.paid = paymentStatus == PaymentStatus.PAID ? 1 : 0;
+            this.revenue = completed * paid;
+            this.ratingSum = rating != null ? rating : 0;
+            this.ratingCount = rating != null ? 1 : 0;
+        }
+    }
+}
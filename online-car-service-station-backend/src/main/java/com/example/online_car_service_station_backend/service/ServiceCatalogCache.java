@@ -0,0 +1,187 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.config.ReadYourWritesTracker;
+import com.example.online_car_service_station_backend.dto.ServiceResponse;
+import com.example.online_car_service_station_backend.dto.VersionStamp;
+import com.example.online_car_service_station_backend.model.CarService;
+import com.example.online_car_service_station_backend.repository.ServiceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Justification: In-process cache for the public service catalog, the highest-traffic read in the app.
+// It keeps the full catalog as pre-serialized JSON bytes (so GET /api/services skips both MySQL and
+// Jackson) plus one ServiceResponse per id. ServiceService invalidates it after every committed write.
+//
+// Consistency: every invalidation bumps a version number, and a loader only stores what it read if the
+// version is unchanged since it started. A read that raced with a write can therefore never put stale
+// data back into the cache after the write committed.
+@Component
+public class ServiceCatalogCache {
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<Long, ServiceResponse> servicesById = new ConcurrentHashMap<>();
+    private volatile CatalogSnapshot catalog;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Justification: The current catalog snapshot. Callers that need several of its parts (the body and its
+    // ETag/Last-Modified) must take them all from one snapshot, so an invalidation in between can never pair
+    // the validators of one version with the body of another.
+    public CatalogSnapshot getCatalogSnapshot() {
+        return getCatalog();
+    }
+
+    public List<ServiceResponse> getCatalogList() {
+        return getCatalog().services;
+    }
+
+    // Justification: Compact catalog version token for composing ETags of responses that embed catalog data.
+    public String getCatalogVersionTag() {
+        VersionStamp version = getCatalog().version;
+        return version.getCount() + "." + version.lastModifiedMillis();
+    }
+
+    public Optional<ServiceResponse> getService(Long id) {
+        ServiceResponse cached = servicesById.get(id);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return Optional.of(cached);
+        }
+        misses.incrementAndGet();
+        long startVersion = version.get();
+        Optional<ServiceResponse> loaded = readYourWritesTracker.onPrimary(() -> serviceRepository.findById(id))
+                .map(ServiceCatalogCache::toResponse);
+        loaded.ifPresent(response -> {
+            if (version.get() == startVersion) {
+                servicesById.put(id, response);
+                // An invalidation may have slipped in between the check and the put.
+                if (version.get() != startVersion) {
+                    servicesById.remove(id, response);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    // Justification: Called by ServiceService on create/update/delete. Inside a transaction the cache is
+    // cleared only after commit, so readers never cache rows that might still be rolled back and never
+    // miss the new data once it is visible.
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    public Map<String, Long> getMetrics() {
+        return Map.of(
+                "hits", hits.get(),
+                "misses", misses.get(),
+                "invalidations", invalidations.get(),
+                "cachedEntries", (long) servicesById.size());
+    }
+
+    public static ServiceResponse toResponse(CarService service) {
+        return new ServiceResponse(service.getId(), service.getName(), service.getDescription(), service.getPrice(), service.getImageUrl());
+    }
+
+    private void clear() {
+        version.incrementAndGet();
+        catalog = null;
+        servicesById.clear();
+        invalidations.incrementAndGet();
+    }
+
+    private CatalogSnapshot getCatalog() {
+        CatalogSnapshot snapshot = catalog;
+        if (snapshot != null) {
+            hits.incrementAndGet();
+            return snapshot;
+        }
+        misses.incrementAndGet();
+        long startVersion = version.get();
+        // Justification: Loaded from the primary; a lagging replica could otherwise put pre-write data back
+        // into the cache right after an invalidation.
+        List<CarService> entities = readYourWritesTracker.onPrimary(serviceRepository::findAll);
+        List<ServiceResponse> services = entities.stream()
+                .map(ServiceCatalogCache::toResponse)
+                .collect(Collectors.toUnmodifiableList());
+        LocalDateTime lastModified = entities.stream()
+                .map(CarService::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        try {
+            snapshot = new CatalogSnapshot(services, objectMapper.writeValueAsBytes(services),
+                    new VersionStamp((long) services.size(), lastModified));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize the service catalog.", e);
+        }
+        if (version.get() == startVersion) {
+            catalog = snapshot;
+            if (version.get() != startVersion) {
+                catalog = null;
+            }
+        }
+        return snapshot;
+    }
+
+    // Justification: The list, its serialized form and its version are published together so they always agree.
+    public static final class CatalogSnapshot {
+        private final List<ServiceResponse> services;
+        private final byte[] json;
+        private final VersionStamp version;
+
+        CatalogSnapshot(List<ServiceResponse> services, byte[] json, VersionStamp version) {
+            this.services = services;
+            this.json = json;
+            this.version = version;
+        }
+
+        // Justification: The whole catalog as a JSON array, ready to be written to the response.
+        public byte[] getJson() {
+            return json;
+        }
+
+        // Justification: ETag of the catalog response, derived from the service count and the latest
+        // CarService.updatedAt when the snapshot was built.
+        public String getETag() {
+            return version.toETag("services");
+        }
+
+        public long getLastModified() {
+            return version.lastModifiedMillis();
+        }
+    }
+}
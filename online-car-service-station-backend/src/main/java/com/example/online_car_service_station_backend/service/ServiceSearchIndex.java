@@ -0,0 +1,372 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.dto.PriceFacet;
+import com.example.online_car_service_station_backend.dto.ServiceResponse;
+import com.example.online_car_service_station_backend.dto.ServiceSearchResponse;
+import com.example.online_car_service_station_backend.model.CarService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Justification: In-memory inverted index over CarService name and description, so the frontend can
+// search the catalog server-side instead of downloading and filtering all of it.
+//
+// Terms live in a TreeMap (term -> service id -> weight), so a prefix is one subMap range scan, and
+// are also bucketed by length so typo-tolerant lookups only compare terms of a similar length.
+// A name hit weighs more than a description hit. The index is built once from the catalog cache and
+// then updated per service by ServiceService after each committed write, instead of being rebuilt.
+@Component
+public class ServiceSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceSearchIndex.class);
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_FACTOR = 0.7;
+    private static final double ONE_TYPO_FACTOR = 0.5;
+    private static final double TWO_TYPOS_FACTOR = 0.3;
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "the", "of", "for", "with", "to", "in", "on", "your");
+
+    @Autowired
+    private ServiceCatalogCache catalogCache;
+
+    @Value("${app.catalog.search.price-buckets:500,1000,2500,5000}")
+    private List<BigDecimal> priceBuckets;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ServiceResponse> documents = new HashMap<>();
+    private final Map<Long, Set<String>> termsByDocument = new HashMap<>();
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Integer, Set<String>> termsByLength = new HashMap<>();
+    private volatile boolean built;
+
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong searchNanos = new AtomicLong();
+    private final AtomicLong incrementalUpdates = new AtomicLong();
+
+    // Justification: Builds the index at startup so the first search does not pay for it.
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureBuilt();
+    }
+
+    // Justification: Called by ServiceService on create/update. Like the catalog cache, the change is applied
+    // only after commit, so a rolled-back write never becomes searchable.
+    public void index(CarService service) {
+        ServiceResponse document = ServiceCatalogCache.toResponse(service);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (built) {
+                    removeDocument(document.getId());
+                    addDocument(document);
+                    incrementalUpdates.incrementAndGet();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long serviceId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (built) {
+                    removeDocument(serviceId);
+                    incrementalUpdates.incrementAndGet();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Justification: Ranks services matching the query (every query word must match a name or description
+    // word exactly, by prefix or within one or two typos), applies the optional price range and returns one page.
+    // An empty query lists the catalog by name. Price facets are counted before the price filter is applied.
+    public ServiceSearchResponse search(String query, BigDecimal minPrice, BigDecimal maxPrice, int page, int size) {
+        ensureBuilt();
+        long start = System.nanoTime();
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+
+        List<ScoredService> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (queryTerms.isEmpty()) {
+                for (ServiceResponse document : documents.values()) {
+                    matches.add(new ScoredService(document, 0));
+                }
+            } else {
+                Map<Long, Double> scores = null;
+                for (String term : queryTerms) {
+                    Map<Long, Double> termScores = scoreTerm(term);
+                    if (scores == null) {
+                        scores = termScores;
+                    } else {
+                        scores.keySet().retainAll(termScores.keySet());
+                        scores.replaceAll((id, score) -> score + termScores.get(id));
+                    }
+                    if (scores.isEmpty()) {
+                        break;
+                    }
+                }
+                scores.forEach((id, score) -> matches.add(new ScoredService(documents.get(id), score)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<PriceFacet> facets = priceFacets(matches);
+        matches.removeIf(match -> !inPriceRange(match.service.getPrice(), minPrice, maxPrice));
+        matches.sort(Comparator.comparingDouble((ScoredService match) -> -match.score)
+                .thenComparing(match -> match.service.getName(), String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(match -> match.service.getId()));
+
+        int from = (int) Math.min((long) pageNumber * pageSize, matches.size());
+        int to = Math.min(from + pageSize, matches.size());
+        List<ServiceResponse> pageContent = new ArrayList<>(to - from);
+        for (ScoredService match : matches.subList(from, to)) {
+            pageContent.add(match.service);
+        }
+
+        searches.incrementAndGet();
+        searchNanos.addAndGet(System.nanoTime() - start);
+        return new ServiceSearchResponse(pageContent, matches.size(), pageNumber, pageSize, facets);
+    }
+
+    public Map<String, Long> getMetrics() {
+        long count = searches.get();
+        lock.readLock().lock();
+        try {
+            return Map.of(
+                    "documents", (long) documents.size(),
+                    "terms", (long) postings.size(),
+                    "searches", count,
+                    "avgSearchMicros", count == 0 ? 0L : searchNanos.get() / count / 1000,
+                    "incrementalUpdates", incrementalUpdates.get());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Justification: Best score per service for one query word: exact term, then terms it prefixes,
+    // then terms within the typo budget. Only the best way a service matched the word is counted.
+    private Map<Long, Double> scoreTerm(String term) {
+        Map<Long, Double> scores = new HashMap<>();
+        Map<Long, Integer> exact = postings.get(term);
+        if (exact != null) {
+            exact.forEach((id, weight) -> scores.merge(id, (double) weight, Math::max));
+        }
+        if (term.length() >= 2) {
+            for (Map.Entry<String, Map<Long, Integer>> entry : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                entry.getValue().forEach((id, weight) -> scores.merge(id, weight * PREFIX_FACTOR, Math::max));
+            }
+        }
+        int maxTypos = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+        for (int length = term.length() - maxTypos; length <= term.length() + maxTypos && maxTypos > 0; length++) {
+            for (String candidate : termsByLength.getOrDefault(length, Set.of())) {
+                int distance = editDistance(term, candidate, maxTypos);
+                if (distance == 0 || distance > maxTypos) {
+                    continue;
+                }
+                double factor = distance == 1 ? ONE_TYPO_FACTOR : TWO_TYPOS_FACTOR;
+                postings.get(candidate).forEach((id, weight) -> scores.merge(id, weight * factor, Math::max));
+            }
+        }
+        return scores;
+    }
+
+    private List<PriceFacet> priceFacets(List<ScoredService> matches) {
+        List<PriceFacet> facets = new ArrayList<>(priceBuckets.size() + 1);
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal upper : priceBuckets) {
+            facets.add(new PriceFacet(lower, upper, 0));
+            lower = upper;
+        }
+        facets.add(new PriceFacet(lower, null, 0));
+        for (ScoredService match : matches) {
+            BigDecimal price = match.service.getPrice();
+            if (price == null) {
+                continue;
+            }
+            for (PriceFacet facet : facets) {
+                if (price.compareTo(facet.getMin()) >= 0 && (facet.getMax() == null || price.compareTo(facet.getMax()) < 0)) {
+                    facet.setCount(facet.getCount() + 1);
+                    break;
+                }
+            }
+        }
+        return facets;
+    }
+
+    private static boolean inPriceRange(BigDecimal price, BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        if (price == null) {
+            return false;
+        }
+        return (min == null || price.compareTo(min) >= 0) && (max == null || price.compareTo(max) <= 0);
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                // Justification: Loaded while holding the write lock, so post-commit updates queued behind it are
+                // applied on top of this snapshot rather than being overwritten by it.
+                for (ServiceResponse document : catalogCache.getCatalogList()) {
+                    addDocument(document);
+                }
+                built = true;
+                logger.info("Service search index built with {} services and {} terms.", documents.size(), postings.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDocument(ServiceResponse document) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(document.getName())) {
+            weights.merge(term, NAME_WEIGHT, Math::max);
+        }
+        for (String term : tokenize(document.getDescription())) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Math::max);
+        }
+        documents.put(document.getId(), document);
+        termsByDocument.put(document.getId(), new HashSet<>(weights.keySet()));
+        weights.forEach((term, weight) -> {
+            postings.computeIfAbsent(term, key -> {
+                termsByLength.computeIfAbsent(key.length(), length -> new HashSet<>()).add(key);
+                return new HashMap<>();
+            }).put(document.getId(), weight);
+        });
+    }
+
+    private void removeDocument(Long id) {
+        documents.remove(id);
+        Set<String> terms = termsByDocument.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> ids = postings.get(term);
+            if (ids == null) {
+                continue;
+            }
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+                Set<String> sameLength = termsByLength.get(term.length());
+                if (sameLength != null) {
+                    sameLength.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Justification: Lower-cased, accent-stripped words; stop words are dropped so they neither match
+    // everything nor make an AND query fail.
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase();
+        List<String> terms = new ArrayList<>();
+        for (String term : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty() && !STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    // Justification: Optimal-string-alignment distance (an adjacent swap counts as one typo), abandoned as
+    // soon as a whole row exceeds maxDistance. Returns maxDistance + 1 for anything further away.
+    static int editDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+
+    private static final class ScoredService {
+        final ServiceResponse service;
+        final double score;
+
+        ScoredService(ServiceResponse service, double score) {
+            this.service = service;
+            this.score = score;
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.example.online_car_service_station_backend.service;
 import com.example.online_car_service_station_backend.dto.ServiceRequest;
 import com.example.online_car_service_station_backend.model.CarService;
 import com.example.online_car_service_station_backend.repository.ServiceRepository;
-import jakarta.transaction.Transactional; // Use jakarta.transaction.Transactional
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -19,6 +19,14 @@ public class ServiceService {
     @Autowired
     private ServiceRepository serviceRepository;
 
+    // Justification: Every write below invalidates the catalog cache (after commit) so reads stay fresh.
+    @Autowired
+    private ServiceCatalogCache catalogCache;
+
+    // Justification: The search index is patched per service after commit rather than rebuilt on every write.
+    @Autowired
+    private ServiceSearchIndex searchIndex;
+
     // Justification: @Transactional ensures that the entire method runs within a single database transaction.
     // This is good practice for write operations to ensure data integrity.
     @Transactional
@@ -29,19 +37,23 @@ public class ServiceService {
         newService.setDescription(serviceRequest.getDescription());
         newService.setPrice(serviceRequest.getPrice());
         newService.setImageUrl(serviceRequest.getImageUrl());
-        return serviceRepository.save(newService);
+        newService.setDurationMinutes(serviceRequest.getDurationMinutes());
+        CarService saved = serviceRepository.save(newService);
+        catalogCache.invalidate();
+        searchIndex.index(saved);
+        return saved;
     }
 
     // Justification: Read-only transactions are more performant and prevent accidental data modification.
     // This method retrieves all services from the database.
-    @Transactional
+    @Transactional(readOnly = true)
     public List<CarService> getAllServices() {
         return serviceRepository.findAll();
     }
 
     // Justification: Retrieves a single service by its ID. Optional<Service> handles cases
     // where the service is not found, preventing NullPointerExceptions.
-    @Transactional
+    @Transactional(readOnly = true)
     public Optional<CarService> getServiceById(Long id) {
         return serviceRepository.findById(id);
     }
@@ -55,7 +67,13 @@ public class ServiceService {
             existingService.setDescription(serviceRequest.getDescription());
             existingService.setPrice(serviceRequest.getPrice());
             existingService.setImageUrl(serviceRequest.getImageUrl());
-            return serviceRepository.save(existingService);
+            if (serviceRequest.getDurationMinutes() != null) {
+                existingService.setDurationMinutes(serviceRequest.getDurationMinutes());
+            }
+            CarService saved = serviceRepository.save(existingService);
+            catalogCache.invalidate();
+            searchIndex.index(saved);
+            return saved;
         });
     }
 
@@ -65,6 +83,8 @@ public class ServiceService {
     public boolean deleteService(Long id) {
         return serviceRepository.findById(id).map(service -> {
             serviceRepository.delete(service);
+            catalogCache.invalidate();
+            searchIndex.remove(id);
             return true;
         }).orElse(false);
     }
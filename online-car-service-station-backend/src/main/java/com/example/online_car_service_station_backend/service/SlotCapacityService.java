@@ -0,0 +1,136 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.dto.AvailableSlot;
+import com.example.online_car_service_station_backend.event.BookingChangedEvent;
+import com.example.online_car_service_station_backend.model.Booking;
+import com.example.online_car_service_station_backend.model.BookingStatus;
+import com.example.online_car_service_station_backend.model.CarService;
+import com.example.online_car_service_station_backend.repository.BookingSlotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Justification: Slot/capacity model of the station. The working day is divided into fixed-length slots and
+// each slot can hold as many bookings as there are service bays. A booking occupies enough consecutive slots
+// to cover the summed duration of its services. Capacity is reserved in the booking's own transaction with
+// conditional updates on the booking_slots rows (see BookingSlotRepository), so a slot can never be
+// overbooked. Flash demand only contends on the rows of the slots being requested. Capacity is returned
+// when a booking is cancelled or deleted, and taken again if a cancelled booking is reinstated.
+@Service
+public class SlotCapacityService {
+
+    @Autowired
+    private BookingSlotRepository slotRepository;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private SlotGrid slotGrid;
+
+    // Duration used for catalog services that do not define their own.
+    @Value("${app.booking.default-service-minutes:60}")
+    private int defaultServiceMinutes;
+
+    public int getBays() {
+        return slotGrid.getBays();
+    }
+
+    public int getSlotMinutes() {
+        return slotGrid.getSlotMinutes();
+    }
+
+    public LocalTime getOpeningTime() {
+        return slotGrid.getOpeningTime();
+    }
+
+    public LocalTime getClosingTime() {
+        return slotGrid.getClosingTime();
+    }
+
+    public int durationMinutes(CarService carService) {
+        Integer minutes = carService.getDurationMinutes();
+        return minutes != null && minutes > 0 ? minutes : defaultServiceMinutes;
+    }
+
+    // Justification: Services of one booking are performed one after another in the same bay.
+    public int slotCountFor(Collection<CarService> carServices) {
+        int totalMinutes = carServices.stream().mapToInt(this::durationMinutes).sum();
+        int slotMinutes = getSlotMinutes();
+        return Math.max(1, (totalMinutes + slotMinutes - 1) / slotMinutes);
+    }
+
+    public List<LocalDateTime> slotStarts(LocalDateTime start, int slotCount) {
+        List<LocalDateTime> starts = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            starts.add(start.plusMinutes((long) i * getSlotMinutes()));
+        }
+        return starts;
+    }
+
+    // Justification: A booking must start on a slot boundary and finish within opening hours on the same day.
+    // Slot boundaries come from SlotGrid, as in AvailabilityIndex, so every slot the index offers is one
+    // that can be reserved.
+    public void validateWindow(LocalDateTime start, int slotCount) {
+        LocalTime startTime = start.toLocalTime();
+        if (!slotGrid.isOnBoundary(startTime)) {
+            throw new RuntimeException("Booking time must start on a " + getSlotMinutes() + "-minute slot boundary.");
+        }
+        LocalDateTime end = start.plusMinutes((long) slotCount * getSlotMinutes());
+        if (startTime.isBefore(getOpeningTime())
+                || !end.toLocalDate().equals(start.toLocalDate())
+                || end.toLocalTime().isAfter(getClosingTime())) {
+            throw new RuntimeException("The selected services do not fit between " + getOpeningTime()
+                    + " and " + getClosingTime() + " on that day.");
+        }
+    }
+
+    // Justification: Called by BookingService.createBooking inside its transaction. Throwing rolls back the
+    // increments already applied, so a booking either gets all of its slots or none.
+    public void reserve(LocalDateTime start, int slotCount) {
+        validateWindow(start, slotCount);
+        List<LocalDateTime> starts = slotStarts(start, slotCount);
+        for (LocalDateTime slotStart : starts) {
+            slotRepository.ensureSlot(slotStart);
+        }
+        if (slotRepository.tryReserve(starts, getBays()) != starts.size()) {
+            throw new RuntimeException("The selected time slot is fully booked. Please choose another time.");
+        }
+        availabilityIndex.applyAfterCommit(starts, 1);
+    }
+
+    public void release(LocalDateTime start, int slotCount) {
+        List<LocalDateTime> starts = slotStarts(start, slotCount);
+        slotRepository.release(starts);
+        availabilityIndex.applyAfterCommit(starts, -1);
+    }
+
+    public List<AvailableSlot> findNextFreeSlots(List<CarService> carServices, LocalDateTime from, int limit) {
+        LocalDateTime earliest = from != null && from.isAfter(LocalDateTime.now()) ? from : LocalDateTime.now();
+        return availabilityIndex.nextFreeSlots(earliest, slotCountFor(carServices), limit);
+    }
+
+    // Justification: A booking holds capacity unless it is cancelled or deleted. Bookings created before the
+    // slot model existed have no slot count and never held capacity, so they are ignored.
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking booking = event.getBooking();
+        if (booking.getSlotCount() == null) {
+            return;
+        }
+        boolean heldBefore = event.getPreviousStatus() != BookingStatus.CANCELLED;
+        boolean heldAfter = !event.isDeleted() && booking.getStatus() != BookingStatus.CANCELLED;
+        if (heldBefore && !heldAfter) {
+            release(booking.getBookingDateTime(), booking.getSlotCount());
+        } else if (!heldBefore && heldAfter) {
+            reserve(booking.getBookingDateTime(), booking.getSlotCount());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.online_car_service_station_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// Justification: The station's slot grid (bay count, slot length, opening hours) in one place. Both
+// SlotCapacityService, which reserves slots, and AvailabilityIndex, which offers them, read it from here,
+// so what the index offers and what a reservation accepts cannot drift apart. Slots are counted from the
+// opening time: with open-hour=9 and slot-minutes=120 they start at 09:00, 11:00, 13:00 and so on.
+@Component
+public class SlotGrid {
+
+    private final int bays;
+    private final int slotMinutes;
+    private final int openHour;
+    private final int closeHour;
+
+    public SlotGrid(@Value("${app.booking.bays:4}") int bays,
+                    @Value("${app.booking.slot-minutes:30}") int slotMinutes,
+                    @Value("${app.booking.open-hour:9}") int openHour,
+                    @Value("${app.booking.close-hour:18}") int closeHour) {
+        this.bays = bays;
+        this.slotMinutes = slotMinutes;
+        this.openHour = openHour;
+        this.closeHour = closeHour;
+    }
+
+    // Number of service bays, i.e. bookings that can run in parallel in one slot.
+    public int getBays() {
+        return bays;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public LocalTime getOpeningTime() {
+        return LocalTime.of(openHour, 0);
+    }
+
+    public LocalTime getClosingTime() {
+        return LocalTime.of(closeHour, 0);
+    }
+
+    public int slotsPerDay() {
+        return (closeHour - openHour) * 60 / slotMinutes;
+    }
+
+    public boolean isOnBoundary(LocalTime time) {
+        int minutesFromOpening = time.getHour() * 60 + time.getMinute() - openHour * 60;
+        return time.getSecond() == 0 && time.getNano() == 0 && Math.floorMod(minutesFromOpening, slotMinutes) == 0;
+    }
+
+    // Justification: Position of the slot starting at 'time' within its day, or -1 for times outside
+    // opening hours or off the grid.
+    public int indexOf(LocalTime time) {
+        if (!isOnBoundary(time) || time.isBefore(getOpeningTime())) {
+            return -1;
+        }
+        int index = (time.getHour() * 60 + time.getMinute() - openHour * 60) / slotMinutes;
+        return index < slotsPerDay() ? index : -1;
+    }
+
+    public LocalDateTime startOf(LocalDate day, int index) {
+        return day.atTime(openHour, 0).plusMinutes((long) index * slotMinutes);
+    }
+}
@@ -2,18 +2,21 @@ package com.example.online_car_service_station_backend.service;
 
 import com.example.online_car_service_station_backend.dto.UserResponse;
 import com.example.online_car_service_station_backend.dto.UserUpdateRequest;
+import com.example.online_car_service_station_backend.dto.VersionStamp;
 import com.example.online_car_service_station_backend.model.Admin;
 import com.example.online_car_service_station_backend.model.Customer;
 import com.example.online_car_service_station_backend.model.User;
 import com.example.online_car_service_station_backend.repository.AdminRepository;
 import com.example.online_car_service_station_backend.repository.CustomerRepository;
 import com.example.online_car_service_station_backend.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.example.online_car_service_station_backend.security.services.TokenVersionCache;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -33,6 +36,10 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    // Justification: Outstanding tokens are revoked when the credentials or token claims change.
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
     // Justification: CRITICAL FIX. The mapping logic is now more explicit.
     // It first checks if the user has a customer profile. If not, it checks for an
     // admin profile. This ensures all profile details are correctly fetched.
@@ -76,7 +83,25 @@ public class UserService {
         );
     }
 
-    @Transactional
+    // Justification: Version of the current user's profile for conditional GETs of /api/users/me.
+    // Justification: Username and email are token claims and the password is the credential, so a change to
+    // any of them bumps the token version; every token issued before, including the caller's, stops being
+    // accepted and the user logs in again. Profile-only edits leave tokens alone.
+    private void revokeTokensIfCredentialsChange(User user, UserUpdateRequest updateRequest) {
+        if (updateRequest.getUsername() == null && updateRequest.getEmail() == null && updateRequest.getPassword() == null) {
+            return;
+        }
+        user.setTokenVersion((user.getTokenVersion() != null ? user.getTokenVersion() : 0) + 1);
+        tokenVersionCache.evict(user.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public VersionStamp getCurrentUserVersion(UserDetails userDetails) {
+        LocalDateTime updatedAt = userRepository.findUpdatedAtByUsername(userDetails.getUsername()).orElse(null);
+        return new VersionStamp(1L, updatedAt);
+    }
+
+    @Transactional(readOnly = true)
     public UserResponse getCurrentUser(UserDetails userDetails) {
         User user = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -91,6 +116,7 @@ public class UserService {
         Customer customer = customerRepository.findByUserId(user.getId())
                 .orElseThrow(() -> new RuntimeException("Customer profile not found"));
 
+        revokeTokensIfCredentialsChange(user, updateRequest);
         if (updateRequest.getUsername() != null) user.setUsername(updateRequest.getUsername());
         if (updateRequest.getEmail() != null) user.setEmail(updateRequest.getEmail());
         if (updateRequest.getPassword() != null) user.setPassword(passwordEncoder.encode(updateRequest.getPassword()));
@@ -101,6 +127,9 @@ public class UserService {
         if (updateRequest.getAddress() != null) customer.setAddress(updateRequest.getAddress());
         if (updateRequest.getProfileImageUrl() != null) customer.setProfileImageUrl(updateRequest.getProfileImageUrl());
 
+        // Justification: Profile fields live on Customer, so the user row is touched explicitly to move
+        // its updatedAt (and therefore the ETag of /api/users/me) even when only profile data changed.
+        user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
         customerRepository.save(customer);
 
@@ -115,6 +144,7 @@ public class UserService {
         Admin admin = adminRepository.findByUserId(user.getId())
                 .orElseThrow(() -> new RuntimeException("Admin profile not found"));
 
+        revokeTokensIfCredentialsChange(user, updateRequest);
         if (updateRequest.getUsername() != null) user.setUsername(updateRequest.getUsername());
         if (updateRequest.getEmail() != null) user.setEmail(updateRequest.getEmail());
         if (updateRequest.getPassword() != null) user.setPassword(passwordEncoder.encode(updateRequest.getPassword()));
@@ -124,6 +154,7 @@ public class UserService {
         if (updateRequest.getLastName() != null) admin.setLastName(updateRequest.getLastName());
         if (updateRequest.getProfileImageUrl() != null) admin.setProfileImageUrl(updateRequest.getProfileImageUrl());
 
+        user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
         adminRepository.save(admin);
 
@@ -0,0 +1,127 @@
+package com.example.online_car_service_station_backend.config;
+
+import com.example.online_car_service_station_backend.model.CarService;
+import com.example.online_car_service_station_backend.repository.ServiceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// Justification: Replica routing against two separate H2 databases with the same schema. Service 1 has a
+// different name in each, so every read shows which database answered it. Transactions are driven by the
+// test, one per "service call", the way they run with open-in-view disabled.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.read-your-writes-ms=60000",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaRoutingConfig.class, ReadYourWritesTracker.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingTests {
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private Environment environment;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        // Hibernate only created the schema on the primary; the replica gets a copy of it.
+        if (replica.queryForObject("select count(*) from information_schema.tables where lower(table_name) = 'services'", Integer.class) == 0) {
+            List<String> ddl = primary.queryForList("script nodata", String.class);
+            ddl.stream().filter(statement -> !statement.startsWith("CREATE USER")).forEach(replica::execute);
+        }
+        primary.update("delete from services");
+        replica.update("delete from services");
+        primary.update("insert into services (id, name, price) values (1, 'primary-copy', 499.00)");
+        replica.update("insert into services (id, name, price) values (1, 'replica-copy', 499.00)");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice-" + System.nanoTime(), null, List.of()));
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void openSessionInViewIsDisabled() {
+        assertFalse(environment.getProperty("spring.jpa.open-in-view", Boolean.class, true));
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertEquals("replica-copy", readName(true));
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        assertEquals("primary-copy", readName(false));
+    }
+
+    @Test
+    void readsAfterARecentWriteGoToThePrimary() {
+        assertEquals("replica-copy", readName(true));
+
+        rename("renamed");
+
+        assertEquals("renamed", readName(true));
+    }
+
+    @Test
+    void aWriteAfterAReadOnlyCallInTheSameRequestGoesToThePrimary() {
+        String name = readName(true);
+        rename(name + "-updated");
+
+        assertEquals("replica-copy-updated", primary.queryForObject("select name from services where id = 1", String.class));
+        assertEquals("replica-copy", replica.queryForObject("select name from services where id = 1", String.class));
+    }
+
+    private String readName(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> serviceRepository.findById(1L).map(CarService::getName).orElseThrow());
+    }
+
+    private void rename(String name) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                serviceRepository.findById(1L).orElseThrow().setName(name));
+    }
+}
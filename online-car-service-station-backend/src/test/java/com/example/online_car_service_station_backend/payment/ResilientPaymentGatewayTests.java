@@ -0,0 +1,136 @@
+package com.example.online_car_service_station_backend.payment;
+
+import com.razorpay.RazorpayException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Justification: Exercises the bulkhead and circuit breaker against a stand-in gateway that injects
+// failures and latency, without any network access.
+class ResilientPaymentGatewayTests {
+
+    @Test
+    void opensAfterConsecutiveFailuresAndClosesAfterSuccessfulTrial() throws Exception {
+        AtomicInteger providerCalls = new AtomicInteger();
+        AtomicInteger failuresLeft = new AtomicInteger(3);
+        PaymentGateway flaky = (amount, currency, receipt) -> {
+            providerCalls.incrementAndGet();
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new PaymentGatewayException("Injected gateway failure");
+            }
+            return "order_" + receipt;
+        };
+        ResilientPaymentGateway gateway = new ResilientPaymentGateway(flaky, new CircuitBreaker(3, 50), 4, 10, 1000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(PaymentGatewayException.class, () -> gateway.createOrder(100, "INR", "r"));
+        }
+        assertThrows(PaymentGatewayUnavailableException.class, () -> gateway.createOrder(100, "INR", "r"));
+        assertEquals(3, providerCalls.get());
+
+        Thread.sleep(80);
+        assertEquals("order_r", gateway.createOrder(100, "INR", "r"));
+        assertEquals("CLOSED", gateway.getMetrics().get("state"));
+    }
+
+    @Test
+    void rejectedRequestsDoNotOpenTheBreaker() {
+        PaymentGateway rejecting = (amount, currency, receipt) -> {
+            throw new RazorpayException("BAD_REQUEST_ERROR:amount exceeds maximum amount allowed");
+        };
+        ResilientPaymentGateway gateway = new ResilientPaymentGateway(rejecting, new CircuitBreaker(2, 60_000), 4, 10, 1000);
+
+        for (int i = 0; i < 5; i++) {
+            RazorpayException e = assertThrows(RazorpayException.class, () -> gateway.createOrder(100, "INR", "r"));
+            assertTrue(!(e instanceof PaymentGatewayUnavailableException));
+        }
+        assertEquals("CLOSED", gateway.getMetrics().get("state"));
+    }
+
+    @Test
+    void slowCallsCountAsFailures() throws Exception {
+        PaymentGateway slow = (amount, currency, receipt) -> {
+            sleep(30);
+            return "order_slow";
+        };
+        ResilientPaymentGateway gateway = new ResilientPaymentGateway(slow, new CircuitBreaker(2, 60_000), 4, 10, 5);
+
+        gateway.createOrder(100, "INR", "r");
+        gateway.createOrder(100, "INR", "r");
+
+        assertThrows(PaymentGatewayUnavailableException.class, () -> gateway.createOrder(100, "INR", "r"));
+        assertEquals(2L, gateway.getMetrics().get("slowCalls"));
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheConcurrencyLimit() throws Exception {
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PaymentGateway blocking = (amount, currency, receipt) -> {
+            inCall.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "order_blocking";
+        };
+        ResilientPaymentGateway gateway = new ResilientPaymentGateway(blocking, new CircuitBreaker(5, 60_000), 1, 10, 10_000);
+
+        Thread holder = new Thread(() -> {
+            try {
+                gateway.createOrder(100, "INR", "first");
+            } catch (RazorpayException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        holder.start();
+        assertTrue(inCall.await(5, TimeUnit.SECONDS));
+
+        assertThrows(PaymentGatewayUnavailableException.class, () -> gateway.createOrder(100, "INR", "second"));
+
+        release.countDown();
+        holder.join();
+        assertEquals(1L, gateway.getMetrics().get("rejectedByBulkhead"));
+    }
+
+    @Test
+    void interruptedBulkheadWaitReleasesTheHalfOpenTrial() throws Exception {
+        AtomicInteger failuresLeft = new AtomicInteger(1);
+        PaymentGateway recovering = (amount, currency, receipt) -> {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new PaymentGatewayException("Injected gateway failure");
+            }
+            return "order_" + receipt;
+        };
+        ResilientPaymentGateway gateway = new ResilientPaymentGateway(recovering, new CircuitBreaker(1, 20), 4, 10, 1000);
+
+        assertThrows(PaymentGatewayException.class, () -> gateway.createOrder(100, "INR", "r"));
+        Thread.sleep(40);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(PaymentGatewayUnavailableException.class, () -> gateway.createOrder(100, "INR", "r"));
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        assertEquals("order_r", gateway.createOrder(100, "INR", "r"));
+        assertEquals("CLOSED", gateway.getMetrics().get("state"));
+    }
+
+    private static void sleep(long millis) throws PaymentGatewayException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted", e);
+        }
+    }
+}
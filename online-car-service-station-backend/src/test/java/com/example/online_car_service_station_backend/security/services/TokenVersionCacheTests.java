@@ -0,0 +1,49 @@
+package com.example.online_car_service_station_backend.security.services;
+
+import com.example.online_car_service_station_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Justification: A bumped token version or a deleted user must stop old tokens from being accepted.
+class TokenVersionCacheTests {
+
+    private UserRepository userRepository;
+    private TokenVersionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = Mockito.mock(UserRepository.class);
+        cache = new TokenVersionCache(300, 100);
+        ReflectionTestUtils.setField(cache, "userRepository", userRepository);
+    }
+
+    @Test
+    void currentVersionIsCachedUntilEvicted() {
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(0), Optional.of(1));
+
+        assertTrue(cache.isCurrent(7L, 0));
+        assertTrue(cache.isCurrent(7L, 0));
+        verify(userRepository, times(1)).findTokenVersionById(7L);
+
+        cache.evict(7L);
+        assertFalse(cache.isCurrent(7L, 0));
+        assertTrue(cache.isCurrent(7L, 1));
+    }
+
+    @Test
+    void tokensOfADeletedUserAreRejected() {
+        when(userRepository.findTokenVersionById(9L)).thenReturn(Optional.empty());
+
+        assertFalse(cache.isCurrent(9L, 0));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.config.ReadYourWritesTracker;
+import com.example.online_car_service_station_backend.dto.AvailableSlot;
+import com.example.online_car_service_station_backend.model.BookingSlot;
+import com.example.online_car_service_station_backend.repository.BookingSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+// Justification: Free-slot search over a two-bay, two-hour grid opening at 09:00 (09:00, 11:00, 13:00,
+// 15:00), including a reservation that lands while the index is being rebuilt.
+class AvailabilityIndexTests {
+
+    private final LocalDate day = LocalDate.now().plusDays(5);
+    private BookingSlotRepository slotRepository;
+    private AvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        slotRepository = Mockito.mock(BookingSlotRepository.class);
+        index = new AvailabilityIndex();
+        ReflectionTestUtils.setField(index, "slotRepository", slotRepository);
+        ReflectionTestUtils.setField(index, "readYourWritesTracker", new ReadYourWritesTracker(0));
+        ReflectionTestUtils.setField(index, "slotGrid", new SlotGrid(2, 120, 9, 17));
+        ReflectionTestUtils.setField(index, "horizonDays", 0);
+    }
+
+    @Test
+    void offersOnlySlotsOnTheGridWithAFreeBay() {
+        index.applyAfterCommit(List.of(day.atTime(9, 0), day.atTime(9, 0), day.atTime(13, 0)), 1);
+
+        List<AvailableSlot> slots = index.nextFreeSlots(day.atStartOfDay(), 1, 10);
+
+        assertEquals(List.of("11:00/2", "13:00/1", "15:00/2"), describe(slots));
+    }
+
+    @Test
+    void multiSlotBookingsNeedEveryCoveredSlotFree() {
+        index.applyAfterCommit(List.of(day.atTime(11, 0), day.atTime(11, 0)), 1);
+
+        assertEquals(List.of("13:00/2"), describe(index.nextFreeSlots(day.atStartOfDay(), 2, 10)));
+    }
+
+    @Test
+    void releasesAndPastDaysAreHandled() {
+        index.applyAfterCommit(List.of(day.atTime(9, 0), day.atTime(9, 0)), 1);
+        index.applyAfterCommit(List.of(day.atTime(9, 0)), -1);
+        index.applyAfterCommit(List.of(LocalDate.now().minusDays(1).atTime(9, 0)), 1);
+
+        assertEquals("09:00/1", describe(index.nextFreeSlots(day.atStartOfDay(), 1, 1)).get(0));
+        assertEquals(4, index.nextFreeSlots(day.atStartOfDay(), 1, 10).size());
+    }
+
+    @Test
+    void rebuildKeepsReservationsThatArriveWhileItReads() {
+        index.applyAfterCommit(List.of(day.atTime(15, 0)), 1);
+        when(slotRepository.findBySlotStartGreaterThanEqualAndReservedGreaterThan(any(), anyInt())).thenAnswer(call -> {
+            index.applyAfterCommit(List.of(day.atTime(11, 0)), 1);
+            return List.of(new BookingSlot(1L, day.atTime(9, 0), 2));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of("11:00/1", "13:00/2", "15:00/2"), describe(index.nextFreeSlots(day.atStartOfDay(), 1, 10)));
+    }
+
+    private List<String> describe(List<AvailableSlot> slots) {
+        return slots.stream()
+                .map(slot -> slot.getStart().toLocalTime() + "/" + slot.getFreeBays())
+                .collect(Collectors.toList());
+    }
+}
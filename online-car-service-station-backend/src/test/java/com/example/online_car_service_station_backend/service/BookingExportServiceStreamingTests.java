@@ -0,0 +1,178 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.model.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Justification: The export end to end over the real streaming queries: service lines folded into one row
+// per booking, newest first, only the requested filters applied, and archived bookings appended after the
+// live ones.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(BookingExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BookingExportServiceStreamingTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Autowired
+    private BookingExportService exportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Customer customer;
+    private CarService oilChange;
+    private CarService wheelAlignment;
+
+    @BeforeEach
+    void seed() {
+        customer = persistCustomer();
+        oilChange = persistService("Oil Change", "499.00");
+        wheelAlignment = persistService("Wheel Alignment", "799.00");
+    }
+
+    @Test
+    void ndjsonHasOneLinePerBookingWithItsServicesNewestFirstAndArchiveAppended() throws Exception {
+        Booking oldest = persistBooking(BASE, BookingStatus.COMPLETED, oilChange, wheelAlignment);
+        Booking middle = persistBooking(BASE.plusDays(1), BookingStatus.CANCELLED, wheelAlignment);
+        Booking newest = persistBooking(BASE.plusDays(2), BookingStatus.COMPLETED, wheelAlignment, oilChange, oilChange);
+        persistArchived(9001L, BASE.minusYears(2), oilChange, wheelAlignment);
+        persistArchived(9002L, BASE.minusYears(1), wheelAlignment, oilChange);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<JsonNode> rows = export(null, true);
+
+        assertEquals(List.of(newest.getId(), middle.getId(), oldest.getId(), 9002L, 9001L), ids(rows));
+        assertEquals(List.of("Wheel Alignment", "Oil Change", "Oil Change"), services(rows.get(0)));
+        assertEquals(List.of("Wheel Alignment"), services(rows.get(1)));
+        assertEquals(List.of("Oil Change", "Wheel Alignment"), services(rows.get(2)));
+        assertEquals(List.of("Wheel Alignment", "Oil Change"), services(rows.get(3)));
+        assertEquals("customer1", rows.get(3).get("customerUsername").asText());
+        assertEquals("COMPLETED", rows.get(4).get("status").asText());
+    }
+
+    @Test
+    void onlyTheFiltersThatAreSetAreApplied() throws Exception {
+        Booking completed = persistBooking(BASE, BookingStatus.COMPLETED, oilChange, wheelAlignment);
+        persistBooking(BASE.plusDays(1), BookingStatus.CANCELLED, wheelAlignment);
+        persistArchived(9003L, BASE.minusYears(1), oilChange);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(completed.getId(), 9003L), ids(export(BookingStatus.COMPLETED, true)));
+        assertEquals(List.of(completed.getId()), ids(export(BookingStatus.COMPLETED, false)));
+        assertEquals(3, export(null, true).size());
+    }
+
+    private List<JsonNode> export(BookingStatus status, boolean includeArchived) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = exportService.export(BookingExportService.Format.NDJSON, status, null, null, null,
+                includeArchived, out);
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.isEmpty() || body.endsWith("\n"));
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        assertEquals(written, rows.size());
+        return rows;
+    }
+
+    private static List<Long> ids(List<JsonNode> rows) {
+        return rows.stream().map(row -> row.get("bookingId").asLong()).toList();
+    }
+
+    private static List<String> services(JsonNode row) {
+        List<String> services = new ArrayList<>();
+        row.get("services").forEach(service -> services.add(service.asText()));
+        return services;
+    }
+
+    // The lines are persisted one by one after the booking, so their ids follow the order given here.
+    private Booking persistBooking(LocalDateTime when, BookingStatus status, CarService... services) {
+        Booking booking = new Booking();
+        booking.setCustomer(customer);
+        booking.setBookingDateTime(when);
+        booking.setStatus(status);
+        booking.setPaymentStatus(PaymentStatus.PAID);
+        booking.setTotalAmount(Arrays.stream(services).map(CarService::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add));
+        entityManager.persist(booking);
+        for (CarService service : services) {
+            BookedService line = new BookedService();
+            line.setBooking(booking);
+            line.setCarService(service);
+            line.setPriceAtBooking(service.getPrice());
+            line.setQuantity(1);
+            entityManager.persist(line);
+        }
+        return booking;
+    }
+
+    private void persistArchived(Long id, LocalDateTime when, CarService... services) {
+        ArchivedBooking booking = new ArchivedBooking();
+        booking.setId(id);
+        booking.setCustomerId(customer.getId());
+        booking.setBookingDateTime(when);
+        booking.setStatus(BookingStatus.COMPLETED);
+        booking.setPaymentStatus(PaymentStatus.PAID);
+        booking.setTotalAmount(BigDecimal.ZERO);
+        booking.setArchivedAt(LocalDateTime.now());
+        entityManager.persist(booking);
+        long lineId = id * 10;
+        for (CarService service : services) {
+            ArchivedBookedService line = new ArchivedBookedService();
+            line.setId(++lineId);
+            line.setBookingId(id);
+            line.setCarServiceId(service.getId());
+            line.setPriceAtBooking(service.getPrice());
+            line.setQuantity(1);
+            entityManager.persist(line);
+        }
+    }
+
+    private Customer persistCustomer() {
+        User user = new User();
+        user.setUsername("customer1");
+        user.setEmail("customer1@example.com");
+        user.setPassword("secret");
+        Customer customer = new Customer();
+        customer.setFirstName("First");
+        customer.setLastName("Last");
+        customer.setUser(user);
+        user.setCustomerProfile(customer);
+        entityManager.persist(user);
+        return customer;
+    }
+
+    private CarService persistService(String name, String price) {
+        CarService service = new CarService();
+        service.setName(name);
+        service.setPrice(new BigDecimal(price));
+        return entityManager.persist(service);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.online_car_service_station_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Justification: CSV field encoding of the bookings export: RFC 4180 quoting, and neutralising customer
+// text that a spreadsheet would otherwise run as a formula.
+class BookingExportServiceTests {
+
+    @Test
+    void plainValuesAreWrittenAsIs() {
+        assertEquals("", BookingExportService.csv(null));
+        assertEquals("Oil change", BookingExportService.csv("Oil change"));
+        assertEquals("1500.00", BookingExportService.csv(new BigDecimal("1.5E3").setScale(2)));
+    }
+
+    @Test
+    void fieldsWithSeparatorsQuotesOrLineBreaksAreQuoted() {
+        assertEquals("\"Brakes, pads\"", BookingExportService.csv("Brakes, pads"));
+        assertEquals("\"Said \"\"great\"\"\"", BookingExportService.csv("Said \"great\""));
+        assertEquals("\"line one\nline two\"", BookingExportService.csv("line one\nline two"));
+        assertEquals("\"line one\r\nline two\"", BookingExportService.csv("line one\r\nline two"));
+    }
+
+    @Test
+    void textStartingWithAFormulaCharacterIsPrefixed() {
+        assertEquals("'=SUM(A1)", BookingExportService.csv("=SUM(A1)"));
+        assertEquals("\"'=HYPERLINK(\"\"x\"\")\"", BookingExportService.csv("=HYPERLINK(\"x\")"));
+        assertEquals("'+1", BookingExportService.csv("+1"));
+        assertEquals("'-1", BookingExportService.csv("-1"));
+        assertEquals("'@SUM(A1)", BookingExportService.csv("@SUM(A1)"));
+        assertEquals("\"'=1,2\"", BookingExportService.csv("=1,2"));
+    }
+
+    @Test
+    void numbersAreNotPrefixed() {
+        assertEquals("-5.00", BookingExportService.csv(new BigDecimal("-5.00")));
+        assertEquals("-3", BookingExportService.csv(-3));
+    }
+}
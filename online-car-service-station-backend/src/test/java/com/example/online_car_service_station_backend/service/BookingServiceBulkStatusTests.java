@@ -0,0 +1,159 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.dto.BulkStatusUpdateRequest;
+import com.example.online_car_service_station_backend.dto.BulkStatusUpdateResponse;
+import com.example.online_car_service_station_backend.dto.BulkStatusUpdateResult;
+import com.example.online_car_service_station_backend.model.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+// Justification: The admin bulk status update against real bookings: one outcome per requested id,
+// writes through set-based UPDATEs rather than dirty checking, and all or nothing when a listener fails.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(BookingService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BookingServiceBulkStatusTests {
+
+    @Autowired
+    private BookingService bookingService;
+
+    // Justification: Only BookingService's own writes are under test. Its service collaborators, and the
+    // BookingChangedEvent listeners they carry, are mocked; the outbox mock also stands in for a failing
+    // listener.
+    @MockBean
+    private RevenueRollupService revenueRollupService;
+
+    @MockBean
+    private SlotCapacityService slotCapacityService;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private int customerSequence = 0;
+
+    // Justification: The bulk update must report one outcome per id and write through set-based UPDATEs,
+    // never through per-entity dirty checking.
+    @Test
+    void bulkUpdateStatusAppliesValidTransitionsWithSetBasedUpdates() {
+        CarService oilChange = persistService("Oil Change", "499.00");
+        List<Booking> bookings = seedBookings(4, oilChange);
+        bookings.get(2).setStatus(BookingStatus.CONFIRMED);
+        bookings.get(3).setStatus(BookingStatus.COMPLETED);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Long> ids = new ArrayList<>(bookings.stream().map(Booking::getId).toList());
+        ids.add(-1L);
+        BulkStatusUpdateResponse response = bookingService.bulkUpdateStatus(
+                new BulkStatusUpdateRequest(ids, BookingStatus.CONFIRMED, null));
+        entityManager.flush();
+
+        assertEquals(2, response.getUpdated());
+        assertEquals(List.of(BulkStatusUpdateResult.Outcome.UPDATED, BulkStatusUpdateResult.Outcome.UPDATED,
+                        BulkStatusUpdateResult.Outcome.UNCHANGED, BulkStatusUpdateResult.Outcome.INVALID_TRANSITION,
+                        BulkStatusUpdateResult.Outcome.NOT_FOUND),
+                response.getResults().stream().map(BulkStatusUpdateResult::getOutcome).toList());
+        assertEquals(0, statistics.getEntityUpdateCount());
+
+        entityManager.clear();
+        assertEquals(BookingStatus.CONFIRMED, entityManager.find(Booking.class, bookings.get(0).getId()).getStatus());
+        assertEquals(BookingStatus.COMPLETED, entityManager.find(Booking.class, bookings.get(3).getId()).getStatus());
+    }
+
+    // Justification: A listener failure after the UPDATEs must not leave part of the batch applied, so the
+    // shared transaction has to end up rolled back rather than committing the other bookings.
+    @Test
+    void bulkUpdateStatusIsAllOrNothingWhenAListenerFails() {
+        CarService oilChange = persistService("Oil Change", "499.00");
+        List<Booking> bookings = seedBookings(2, oilChange);
+        entityManager.flush();
+        entityManager.clear();
+        doThrow(new RuntimeException("Outbox unavailable")).when(outboxService).onBookingChanged(any());
+
+        List<Long> ids = bookings.stream().map(Booking::getId).toList();
+        assertThrows(RuntimeException.class, () -> bookingService.bulkUpdateStatus(
+                new BulkStatusUpdateRequest(ids, BookingStatus.CONFIRMED, null)));
+
+        assertTrue(TestTransaction.isFlaggedForRollback());
+    }
+
+    private List<Booking> seedBookings(int count, CarService... services) {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Customer customer = persistCustomer();
+            Booking booking = new Booking();
+            booking.setCustomer(customer);
+            booking.setBookingDateTime(LocalDateTime.now().plusDays(i + 1));
+            booking.setStatus(BookingStatus.PENDING);
+            booking.setPaymentStatus(PaymentStatus.PENDING);
+            BigDecimal total = BigDecimal.ZERO;
+            for (CarService service : services) {
+                BookedService bookedService = new BookedService();
+                bookedService.setBooking(booking);
+                bookedService.setCarService(service);
+                bookedService.setPriceAtBooking(service.getPrice());
+                bookedService.setQuantity(1);
+                booking.getBookingServices().add(bookedService);
+                total = total.add(service.getPrice());
+            }
+            booking.setTotalAmount(total);
+            bookings.add(entityManager.persist(booking));
+        }
+        return bookings;
+    }
+
+    private Customer persistCustomer() {
+        int n = ++customerSequence;
+        User user = new User();
+        user.setUsername("customer" + n);
+        user.setEmail("customer" + n + "@example.com");
+        user.setPassword("secret");
+        Customer customer = new Customer();
+        customer.setFirstName("First" + n);
+        customer.setLastName("Last" + n);
+        customer.setUser(user);
+        user.setCustomerProfile(customer);
+        entityManager.persist(user);
+        return customer;
+    }
+
+    private CarService persistService(String name, String price) {
+        CarService service = new CarService();
+        service.setName(name);
+        service.setDescription(name + " description");
+        service.setPrice(new BigDecimal(price));
+        return entityManager.persist(service);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.dto.BookingResponse;
+import com.example.online_car_service_station_backend.model.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Justification: Regression test for the admin bookings list. It seeds an increasing number of bookings
+// and asserts that BookingService.getAllBookings issues the same number of SQL statements each time,
+// which guards against the N+1 lazy-loading pattern coming back.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(BookingService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BookingServiceStatementCountTests {
+
+    @Autowired
+    private BookingService bookingService;
+
+    // Justification: Only BookingService's own queries are under test. Its service collaborators, and the
+    // BookingChangedEvent listeners they carry, are mocked so their statements are not counted here.
+    @MockBean
+    private RevenueRollupService revenueRollupService;
+
+    @MockBean
+    private SlotCapacityService slotCapacityService;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private int customerSequence = 0;
+
+    @Test
+    void getAllBookingsStatementCountDoesNotGrowWithBookings() {
+        CarService oilChange = persistService("Oil Change", "499.00");
+        CarService wheelAlignment = persistService("Wheel Alignment", "799.00");
+
+        seedBookings(5, oilChange, wheelAlignment);
+        long statementsForFive = countStatements(5);
+
+        seedBookings(45, oilChange, wheelAlignment);
+        long statementsForFifty = countStatements(50);
+
+        assertEquals(statementsForFive, statementsForFifty);
+    }
+
+    private long countStatements(int expectedBookings) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingResponse> bookings = bookingService.getAllBookings();
+
+        assertEquals(expectedBookings, bookings.size());
+        bookings.forEach(booking -> assertEquals(2, booking.getBookedServices().size()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedBookings(int count, CarService... services) {
+        for (int i = 0; i < count; i++) {
+            Customer customer = persistCustomer();
+            Booking booking = new Booking();
+            booking.setCustomer(customer);
+            booking.setBookingDateTime(LocalDateTime.now().plusDays(i + 1));
+            booking.setStatus(BookingStatus.PENDING);
+            booking.setPaymentStatus(PaymentStatus.PENDING);
+            BigDecimal total = BigDecimal.ZERO;
+            for (CarService service : services) {
+                BookedService bookedService = new BookedService();
+                bookedService.setBooking(booking);
+                bookedService.setCarService(service);
+                bookedService.setPriceAtBooking(service.getPrice());
+                bookedService.setQuantity(1);
+                booking.getBookingServices().add(bookedService);
+                total = total.add(service.getPrice());
+            }
+            booking.setTotalAmount(total);
+            entityManager.persist(booking);
+        }
+    }
+
+    private Customer persistCustomer() {
+        int n = ++customerSequence;
+        User user = new User();
+        user.setUsername("customer" + n);
+        user.setEmail("customer" + n + "@example.com");
+        user.setPassword("secret");
+        Customer customer = new Customer();
+        customer.setFirstName("First" + n);
+        customer.setLastName("Last" + n);
+        customer.setUser(user);
+        user.setCustomerProfile(customer);
+        entityManager.persist(user);
+        return customer;
+    }
+
+    private CarService persistService(String name, String price) {
+        CarService service = new CarService();
+        service.setName(name);
+        service.setDescription(name + " description");
+        service.setPrice(new BigDecimal(price));
+        return entityManager.persist(service);
+    }
+}
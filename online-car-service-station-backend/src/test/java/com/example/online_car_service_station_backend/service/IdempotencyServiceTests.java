@@ -0,0 +1,142 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.model.IdempotencyRecord;
+import com.example.online_car_service_station_backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Justification: Each key must run its operation at most once while it is claimed or completed, and must
+// become usable again when the operation fails or its owner vanishes. execute() is called outside any test
+// transaction, as the controllers call it, so claims commit for real and can be raced.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.idempotency.lease-seconds=30"
+})
+@Import(IdempotencyService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTests {
+
+    private static final String SCOPE = "create-booking";
+    private static final String OWNER = "alice";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void retryWithTheSameBodyReplaysTheStoredResponse() {
+        assertEquals("booking-1", execute("replay", Map.of("serviceId", 1), () -> "booking-" + runs.incrementAndGet()));
+        assertEquals("booking-1", execute("replay", Map.of("serviceId", 1), () -> "booking-" + runs.incrementAndGet()));
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void sameKeyWithADifferentBodyIsRejected() {
+        execute("different-body", Map.of("serviceId", 1), () -> "booking-" + runs.incrementAndGet());
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> execute("different-body", Map.of("serviceId", 2), () -> "booking-" + runs.incrementAndGet()));
+
+        assertTrue(error.getMessage().contains("different request"));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void concurrentClaimOfAKeyInProgressIsRefused() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = pool.submit(() -> execute("concurrent", Map.of("serviceId", 1), () -> {
+                started.countDown();
+                finish.await();
+                return "booking-" + runs.incrementAndGet();
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            RuntimeException error = assertThrows(RuntimeException.class,
+                    () -> execute("concurrent", Map.of("serviceId", 1), () -> "booking-" + runs.incrementAndGet()));
+            assertTrue(error.getMessage().contains("still being processed"));
+
+            finish.countDown();
+            assertEquals("booking-1", first.get(10, TimeUnit.SECONDS));
+            assertEquals("booking-1", execute("concurrent", Map.of("serviceId", 1), () -> "booking-" + runs.incrementAndGet()));
+            assertEquals(1, runs.get());
+        } finally {
+            finish.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedOperationReleasesTheKey() {
+        assertThrows(IllegalStateException.class, () -> execute("failure", Map.of("serviceId", 1), () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("gateway down");
+        }));
+        assertTrue(recordRepository.findByScopeAndOwnerNameAndIdempotencyKey(SCOPE, OWNER, "failure").isEmpty());
+
+        assertEquals("booking-2", execute("failure", Map.of("serviceId", 1), () -> "booking-" + runs.incrementAndGet()));
+    }
+
+    @Test
+    void abandonedClaimIsTakenOverOnlyAfterItsLease() throws Exception {
+        // A claim from an owner that died before completing: fresh first, then past its lease.
+        Map<String, Integer> request = Map.of("serviceId", 1);
+        String requestHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8)));
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord stuck = recordRepository.save(new IdempotencyRecord(null, SCOPE, OWNER, "abandoned",
+                requestHash, null, now, now, now.plusHours(1)));
+        assertThrows(RuntimeException.class,
+                () -> execute("abandoned", request, () -> "booking-" + runs.incrementAndGet()));
+
+        stuck.setClaimedAt(now.minusMinutes(5));
+        recordRepository.save(stuck);
+        assertEquals("booking-1", execute("abandoned", request, () -> "booking-" + runs.incrementAndGet()));
+        assertEquals("booking-1", execute("abandoned", request, () -> "booking-" + runs.incrementAndGet()));
+        assertEquals(1, runs.get());
+    }
+
+    private String execute(String key, Object request, IdempotencyService.Operation<String, Exception> operation) {
+        try {
+            return idempotencyService.execute(SCOPE, OWNER, key, request, String.class, operation);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.event.OutboxConsumer;
+import com.example.online_car_service_station_backend.event.OutboxMessage;
+import com.example.online_car_service_station_backend.model.OutboxEvent;
+import com.example.online_car_service_station_backend.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// Justification: A consumer that fails on one event must only hold back that event, only for that
+// consumer, and only until maxAttempts. The repository returns whichever rows are still unpublished, as
+// claimUnpublished would.
+class OutboxRelayTests {
+
+    private final List<OutboxEvent> table = new ArrayList<>();
+    private RecordingConsumer notifications;
+    private RecordingConsumer analytics;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxEventRepository repository = Mockito.mock(OutboxEventRepository.class);
+        when(repository.claimUnpublished(any())).thenAnswer(call -> table.stream()
+                .filter(event -> event.getPublishedAt() == null)
+                .collect(Collectors.toList()));
+        LongStream.rangeClosed(1, 4).forEach(id -> table.add(new OutboxEvent(id, OutboxService.BOOKING, id,
+                "BookingCreated", "{}", LocalDateTime.now(), null, null, 0, null)));
+
+        notifications = new RecordingConsumer("notifications");
+        analytics = new RecordingConsumer("analytics");
+        relay = new OutboxRelay(Mockito.mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(relay, "outboxEventRepository", repository);
+        ReflectionTestUtils.setField(relay, "consumers", List.of(notifications, analytics));
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+    }
+
+    @Test
+    void aFailingEventIsRetriedOnlyForTheConsumerThatRejectedIt() {
+        notifications.failingIds.add(2L);
+
+        assertEquals(3, relay.relayBatch());
+
+        OutboxEvent failed = event(2);
+        assertNull(failed.getPublishedAt());
+        assertEquals("analytics", failed.getDeliveredTo());
+        assertEquals("notifications: cannot handle event 2", failed.getLastError());
+        assertEquals(List.of(1L, 3L, 4L), published());
+        assertEquals("notifications,analytics", event(1).getDeliveredTo());
+
+        notifications.failingIds.clear();
+        analytics.received.clear();
+        assertEquals(1, relay.relayBatch());
+
+        assertNotNull(failed.getPublishedAt());
+        assertNull(failed.getLastError());
+        assertEquals("analytics,notifications", failed.getDeliveredTo());
+        assertEquals(2, failed.getAttempts());
+        assertEquals(List.of(), analytics.received);
+        assertEquals(0, relay.relayBatch());
+    }
+
+    @Test
+    void aPoisonEventIsGivenUpAfterMaxAttemptsWithoutHoldingBackTheOthers() {
+        notifications.failingIds.add(3L);
+
+        assertEquals(3, relay.relayBatch());
+        assertEquals(0, relay.relayBatch());
+        assertNull(event(3).getPublishedAt());
+        assertEquals(0, relay.relayBatch());
+
+        OutboxEvent poison = event(3);
+        assertNotNull(poison.getPublishedAt());
+        assertEquals(3, poison.getAttempts());
+        assertEquals("notifications: cannot handle event 3", poison.getLastError());
+        assertEquals(1, analytics.received.stream().filter(id -> id == 3L).count());
+        assertEquals(1, event(1).getAttempts());
+        assertEquals(0, relay.relayBatch());
+    }
+
+    private OutboxEvent event(long id) {
+        return table.get((int) id - 1);
+    }
+
+    private List<Long> published() {
+        return table.stream()
+                .filter(event -> event.getPublishedAt() != null)
+                .map(OutboxEvent::getId)
+                .collect(Collectors.toList());
+    }
+
+    // Justification: Rejects any batch that contains one of 'failingIds', like a consumer whose downstream
+    // call fails for one message.
+    private static final class RecordingConsumer implements OutboxConsumer {
+        final String name;
+        final Set<Long> failingIds = new CopyOnWriteArraySet<>();
+        final List<Long> received = new ArrayList<>();
+
+        RecordingConsumer(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void handle(List<OutboxMessage> messages) {
+            for (OutboxMessage message : messages) {
+                if (failingIds.contains(message.getId())) {
+                    throw new RuntimeException("cannot handle event " + message.getId());
+                }
+            }
+            messages.forEach(message -> received.add(message.getId()));
+        }
+    }
+}
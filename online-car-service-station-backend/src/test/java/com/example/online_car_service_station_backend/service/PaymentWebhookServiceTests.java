@@ -0,0 +1,231 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.model.Booking;
+import com.example.online_car_service_station_backend.model.PaymentStatus;
+import com.example.online_car_service_station_backend.model.PaymentWebhookEvent;
+import com.example.online_car_service_station_backend.model.WebhookEventStatus;
+import com.example.online_car_service_station_backend.repository.BookingRepository;
+import com.example.online_car_service_station_backend.repository.PaymentWebhookEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Justification: The webhook queue end to end against MySQL-mode H2: signature check, de-duplication by
+// payment id, exclusive claims under concurrent workers and the retry back-off. Booking lookups and the payment update are mocked;
+// only the queue's own bookkeeping is under test. The background workers are disabled, so every batch is
+// driven by the test.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:webhooks;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "razorpay.webhook.secret=" + PaymentWebhookServiceTests.SECRET,
+        "payment.webhook.max-attempts=3",
+        "payment.webhook.workers=0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PaymentWebhookService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentWebhookServiceTests {
+
+    static final String SECRET = "webhook-test-secret";
+
+    private static final int EVENTS = 20;
+    private static final int WORKERS = 4;
+
+    @Autowired
+    private PaymentWebhookService webhookService;
+
+    @Autowired
+    private PaymentWebhookEventRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private BookingRepository bookingRepository;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    @BeforeEach
+    void clearQueue() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void webhooksWithoutAValidSignatureAreRejected() throws Exception {
+        String payload = captured("pay_1", "order_1");
+
+        assertFalse(webhookService.receive(payload, null));
+        assertFalse(webhookService.receive(payload, sign(payload.replace("order_1", "order_2"))));
+        assertEquals(0, eventRepository.count());
+
+        assertTrue(webhookService.receive(payload, sign(payload)));
+        assertEquals(1, eventRepository.count());
+    }
+
+    @Test
+    void redeliveriesOfTheSamePaymentAreQueuedOnce() throws Exception {
+        String captured = captured("pay_2", "order_2");
+        String orderPaid = captured.replace("payment.captured", "order.paid");
+
+        assertTrue(webhookService.receive(captured, sign(captured)));
+        assertTrue(webhookService.receive(captured, sign(captured)));
+        assertTrue(webhookService.receive(orderPaid, sign(orderPaid)));
+
+        assertEquals(1, eventRepository.count());
+        Integer insertedAgain = new TransactionTemplate(transactionManager).execute(status ->
+                eventRepository.enqueue("pay_2", "order_2", "order.paid", LocalDateTime.now()));
+        assertEquals(0, insertedAgain);
+    }
+
+    @Test
+    void concurrentWorkersApplyEachEventOnce() throws Exception {
+        List<Booking> bookings = new ArrayList<>();
+        for (long i = 1; i <= EVENTS; i++) {
+            enqueue("pay_c" + i, "order_c" + i);
+            bookings.add(booking(i, "order_c" + i));
+        }
+        when(bookingRepository.findByRazorpayOrderIdIn(anyCollection())).thenReturn(bookings);
+        Map<Long, Integer> updatesByBooking = new ConcurrentHashMap<>();
+        doAnswer(call -> updatesByBooking.merge(call.getArgument(0), 1, Integer::sum))
+                .when(paymentService).updateBookingPaymentStatus(anyLong(), eq(PaymentStatus.PAID));
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+        try {
+            List<Future<Integer>> batches = new ArrayList<>();
+            for (int i = 0; i < WORKERS; i++) {
+                batches.add(pool.submit(() -> {
+                    go.await();
+                    return webhookService.processBatch();
+                }));
+            }
+            go.countDown();
+            for (Future<Integer> batch : batches) {
+                batch.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(EVENTS, updatesByBooking.size());
+        updatesByBooking.forEach((bookingId, updates) -> assertEquals(1, updates, "booking " + bookingId));
+        eventRepository.findAll().forEach(event -> {
+            assertEquals(WebhookEventStatus.PROCESSED, event.getStatus());
+            assertEquals(1, event.getAttempts());
+        });
+    }
+
+    @Test
+    void eventsAreAppliedOnceAndNotClaimedAgain() throws Exception {
+        Long eventId = enqueue("pay_4", "order_4");
+        when(bookingRepository.findByRazorpayOrderIdIn(anyCollection())).thenReturn(List.of(booking(40L, "order_4")));
+
+        assertEquals(1, webhookService.processBatch());
+
+        PaymentWebhookEvent event = eventRepository.findById(eventId).orElseThrow();
+        assertEquals(WebhookEventStatus.PROCESSED, event.getStatus());
+        assertNotNull(event.getProcessedAt());
+        verify(paymentService).updateBookingPaymentStatus(40L, PaymentStatus.PAID);
+        assertEquals(0, webhookService.processBatch());
+    }
+
+    @Test
+    void failedEventsBackOffAndEventuallyFail() throws Exception {
+        Long unknownOrder = enqueue("pay_5", "order_5");
+        Long failingUpdate = enqueue("pay_6", "order_6");
+        when(bookingRepository.findByRazorpayOrderIdIn(anyCollection())).thenReturn(List.of(booking(60L, "order_6")));
+        doThrow(new RuntimeException("Booking locked")).when(paymentService).updateBookingPaymentStatus(anyLong(), any());
+
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(2, webhookService.processBatch());
+
+        for (Long eventId : List.of(unknownOrder, failingUpdate)) {
+            PaymentWebhookEvent event = eventRepository.findById(eventId).orElseThrow();
+            assertEquals(WebhookEventStatus.NEW, event.getStatus());
+            assertEquals(1, event.getAttempts());
+            assertFalse(event.getAvailableAt().isBefore(before.plusSeconds(2)));
+        }
+        assertEquals("No booking found for order order_5", eventRepository.findById(unknownOrder).orElseThrow().getLastError());
+        assertEquals("Booking locked", eventRepository.findById(failingUpdate).orElseThrow().getLastError());
+        assertEquals(0, webhookService.processBatch());
+
+        for (int attempt = 2; attempt <= 3; attempt++) {
+            makeDue();
+            assertEquals(2, webhookService.processBatch());
+        }
+        eventRepository.findAll().forEach(event -> {
+            assertEquals(WebhookEventStatus.FAILED, event.getStatus());
+            assertEquals(3, event.getAttempts());
+        });
+        makeDue();
+        assertEquals(0, webhookService.processBatch());
+    }
+
+    private Long enqueue(String paymentId, String orderId) throws Exception {
+        String payload = captured(paymentId, orderId);
+        assertTrue(webhookService.receive(payload, sign(payload)));
+        return eventRepository.findAll().stream()
+                .filter(event -> event.getPaymentId().equals(paymentId))
+                .findFirst().orElseThrow().getId();
+    }
+
+    private void makeDue() {
+        List<PaymentWebhookEvent> events = eventRepository.findAll();
+        events.forEach(event -> event.setAvailableAt(LocalDateTime.now().minusSeconds(1)));
+        eventRepository.saveAll(events);
+    }
+
+    private static Booking booking(Long id, String orderId) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setRazorpayOrderId(orderId);
+        return booking;
+    }
+
+    private static String captured(String paymentId, String orderId) {
+        return "{\"event\":\"payment.captured\",\"payload\":{\"payment\":{\"entity\":"
+                + "{\"id\":\"" + paymentId + "\",\"order_id\":\"" + orderId + "\"}}}}";
+    }
+
+    private static String sign(String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.dto.ServiceResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Justification: Matching rules of the catalog search (stop words, prefixes, typo budget, AND across
+// query words) against a small fixed catalog, without Spring or a database.
+class ServiceSearchIndexTests {
+
+    private ServiceSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ServiceCatalogCache catalogCache = Mockito.mock(ServiceCatalogCache.class);
+        Mockito.when(catalogCache.getCatalogList()).thenReturn(List.of(
+                service(1L, "Oil Change", "Synthetic engine oil and filter replacement.", 999),
+                service(2L, "Brake Inspection", "Check pads, discs and brake fluid.", 499),
+                service(3L, "Engine Diagnostics", "Full computer scan of the engine.", 1499),
+                service(4L, "Air Conditioning Service", "Refill refrigerant and replace the cabin filter.", 2999)));
+        index = new ServiceSearchIndex();
+        ReflectionTestUtils.setField(index, "catalogCache", catalogCache);
+        ReflectionTestUtils.setField(index, "priceBuckets", List.of(new BigDecimal(500), new BigDecimal(1000)));
+    }
+
+    @Test
+    void tokenizeLowercasesStripsAccentsAndDropsStopWords() {
+        assertEquals(List.of("oil", "change", "cafe"), ServiceSearchIndex.tokenize("The Oil-Change for your Café"));
+        assertEquals(List.of(), ServiceSearchIndex.tokenize("a the of"));
+    }
+
+    @Test
+    void editDistanceCountsAnAdjacentSwapAsOneTypoAndStopsAtTheBudget() {
+        assertEquals(1, ServiceSearchIndex.editDistance("brake", "braek", 2));
+        assertEquals(1, ServiceSearchIndex.editDistance("brake", "brakes", 2));
+        assertEquals(2, ServiceSearchIndex.editDistance("engine", "enjime", 1));
+        assertEquals(3, ServiceSearchIndex.editDistance("oil", "brake", 2));
+    }
+
+    @Test
+    void typoBudgetGrowsWithTheWordLength() {
+        // Under four letters no typo is allowed.
+        assertEquals(List.of(), ids("oik"));
+        // Four to seven letters allow one typo, not two.
+        assertEquals(List.of(2L), ids("brkae"));
+        assertEquals(List.of(), ids("brkaw"));
+        // Eight letters and more allow two typos.
+        assertEquals(List.of(3L), ids("diagnsotcs"));
+    }
+
+    @Test
+    void stopWordsInTheQueryAreIgnored() {
+        assertEquals(ids("oil change"), ids("the oil and change"));
+    }
+
+    @Test
+    void queryWordsFromTwoLettersAlsoMatchAsPrefixes() {
+        assertEquals(List.of(3L, 1L), ids("engine"));
+        assertEquals(List.of(3L, 1L), ids("engi"));
+        assertTrue(ids("e").isEmpty());
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        assertEquals(List.of(4L, 1L), ids("filter"));
+        assertEquals(List.of(4L), ids("filter cabin"));
+        assertEquals(List.of(), ids("filter brake"));
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, null, null, 0, ServiceSearchIndex.MAX_PAGE_SIZE).getServices().stream()
+                .map(ServiceResponse::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static ServiceResponse service(Long id, String name, String description, int price) {
+        return new ServiceResponse(id, name, description, new BigDecimal(price), null);
+    }
+}
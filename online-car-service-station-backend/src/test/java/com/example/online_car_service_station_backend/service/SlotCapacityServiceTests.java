@@ -0,0 +1,109 @@
+package com.example.online_car_service_station_backend.service;
+
+import com.example.online_car_service_station_backend.model.BookingSlot;
+import com.example.online_car_service_station_backend.repository.BookingSlotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Justification: The slot counters are the only thing standing between a burst of bookings and an
+// overbooked bay, so they are exercised with real concurrent transactions. Slots are two hours long and
+// the station opens at 09:00, so the grid is deliberately not aligned to midnight.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slots;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.booking.bays=3",
+        "app.booking.slot-minutes=120",
+        "app.booking.open-hour=9",
+        "app.booking.close-hour=17"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SlotCapacityService.class, SlotGrid.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SlotCapacityServiceTests {
+
+    private static final int CUSTOMERS = 12;
+
+    @Autowired
+    private SlotCapacityService slotCapacityService;
+
+    @Autowired
+    private BookingSlotRepository slotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private AvailabilityIndex availabilityIndex;
+
+    @Test
+    void slotBoundariesAreCountedFromOpeningTime() {
+        LocalDate day = LocalDate.now().plusDays(10);
+
+        assertDoesNotThrow(() -> slotCapacityService.validateWindow(day.atTime(9, 0), 1));
+        assertDoesNotThrow(() -> slotCapacityService.validateWindow(day.atTime(15, 0), 1));
+        assertThrows(RuntimeException.class, () -> slotCapacityService.validateWindow(day.atTime(10, 0), 1));
+        assertThrows(RuntimeException.class, () -> slotCapacityService.validateWindow(day.atTime(16, 0), 1));
+    }
+
+    @Test
+    void concurrentReservationsNeverExceedTheBayCount() throws Exception {
+        LocalDateTime start = LocalDate.now().plusDays(20).atTime(11, 0);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CUSTOMERS);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < CUSTOMERS; i++) {
+                attempts.add(pool.submit(() -> {
+                    go.await();
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> slotCapacityService.reserve(start, 2));
+                        return true;
+                    } catch (RuntimeException e) {
+                        return false;
+                    }
+                }));
+            }
+            go.countDown();
+            int booked = 0;
+            for (Future<Boolean> attempt : attempts) {
+                if (attempt.get(30, TimeUnit.SECONDS)) {
+                    booked++;
+                }
+            }
+
+            assertEquals(slotCapacityService.getBays(), booked);
+            List<BookingSlot> slots = slotRepository.findBySlotStartGreaterThanEqualAndReservedGreaterThan(start, 0);
+            assertEquals(2, slots.size());
+            for (BookingSlot slot : slots) {
+                assertTrue(slot.getReserved() <= slotCapacityService.getBays());
+                assertEquals(booked, slot.getReserved());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}